@@ -32,7 +32,8 @@ import com.auth0.android.result.Credentials;
 
 /**
  * Simple implementation of the Callback used by Lock to notify the user of execution results.
- * It can handle and notify of Authentication and Canceled events.
+ * It can handle and notify of Authentication and Canceled events. Subclasses that override
+ * {@link #onEvent(int, Intent)} keep receiving every event through it.
  */
 public abstract class AuthenticationCallback implements LockCallback {
 
@@ -77,7 +78,29 @@ public abstract class AuthenticationCallback implements LockCallback {
         String refreshToken = data.getStringExtra(Constants.REFRESH_TOKEN_EXTRA);
         long expiresIn = data.getLongExtra(Constants.EXPIRES_IN_EXTRA, 0);
         Credentials credentials = new Credentials(idToken, accessToken, tokenType, refreshToken, expiresIn);
+        deliverAuthentication(credentials);
+    }
 
+    /**
+     * Whether this instance overrides {@link #onEvent(int, Intent)}, in which case the results must be
+     * delivered through it instead of calling {@link #onAuthentication(Credentials)} directly.
+     *
+     * @return true if a subclass declares its own onEvent.
+     */
+    boolean overridesOnEvent() {
+        try {
+            return getClass().getMethod("onEvent", int.class, Intent.class).getDeclaringClass() != AuthenticationCallback.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Notifies the Authentication received directly from the Lock activity.
+     *
+     * @param credentials with the tokens.
+     */
+    void deliverAuthentication(Credentials credentials) {
         Log.d(TAG, "User authenticated!");
         onAuthentication(credentials);
     }
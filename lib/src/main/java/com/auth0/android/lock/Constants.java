@@ -28,6 +28,7 @@ abstract class Constants {
     static final String LIBRARY_NAME = "Lock.Android";
 
     static final String OPTIONS_EXTRA = "com.auth0.android.lock.key.Options";
+    static final String OPTIONS_TOKEN_EXTRA = "com.auth0.android.lock.key.OptionsToken";
 
     static final String CONNECTION_SCOPE_KEY = "connection_scope";
 
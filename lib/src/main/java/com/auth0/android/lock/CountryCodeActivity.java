@@ -49,7 +49,6 @@ package com.auth0.android.lock;
 
 
 import android.content.Intent;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.support.v7.app.ActionBar;
 import android.support.v7.app.AppCompatActivity;
@@ -63,12 +62,7 @@ import android.widget.ListView;
 
 import com.auth0.android.lock.adapters.Country;
 import com.auth0.android.lock.adapters.CountryAdapter;
-import com.auth0.android.lock.utils.LoadCountriesTask;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import com.auth0.android.lock.utils.CountryCatalog;
 
 public class CountryCodeActivity extends AppCompatActivity {
 
@@ -77,8 +71,6 @@ public class CountryCodeActivity extends AppCompatActivity {
 
     private static final String TAG = CountryCodeActivity.class.getName();
 
-    AsyncTask<String, Void, Map<String, String>> task;
-
     ListView listView;
 
     @Override
@@ -110,24 +102,6 @@ public class CountryCodeActivity extends AppCompatActivity {
             bar.hide();
         }
 
-        task = new LoadCountriesTask(this) {
-            @Override
-            protected void onPostExecute(Map<String, String> result) {
-                task = null;
-                if (result == null) {
-                    return;
-                }
-
-                final ArrayList<String> names = new ArrayList<>(result.keySet());
-                Collections.sort(names);
-                List<Country> countries = new ArrayList<>(names.size());
-                for (String name : names) {
-                    countries.add(new Country(name, result.get(name)));
-                }
-                listView.setAdapter(new CountryAdapter(getContext(), countries));
-            }
-        };
-        task.execute(LoadCountriesTask.COUNTRIES_JSON_FILE);
         listView = (ListView) findViewById(R.id.com_auth0_lock_passwordless_sms_country_code_list);
         listView.setOnItemClickListener(new AdapterView.OnItemClickListener() {
             @Override
@@ -140,15 +114,8 @@ public class CountryCodeActivity extends AppCompatActivity {
                 finish();
             }
         });
-    }
 
-    @Override
-    public void onStop() {
-        super.onStop();
-        if (task != null) {
-            Log.v(TAG, "Task was cancelled");
-            task.cancel(true);
-        }
+        listView.setAdapter(new CountryAdapter(this, CountryCatalog.getInstance().getCountries()));
     }
 
 }
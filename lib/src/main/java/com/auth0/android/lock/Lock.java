@@ -31,6 +31,7 @@ import android.content.Intent;
 import android.content.IntentFilter;
 import android.os.Build;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.StyleRes;
 import android.support.v4.content.LocalBroadcastManager;
 import android.util.Log;
@@ -38,13 +39,19 @@ import android.util.Log;
 import com.auth0.android.Auth0;
 import com.auth0.android.authentication.ParameterBuilder;
 import com.auth0.android.lock.LockCallback.LockEvent;
+import com.auth0.android.lock.internal.configuration.ApplicationFetcher;
 import com.auth0.android.lock.internal.configuration.Options;
 import com.auth0.android.lock.internal.configuration.Theme;
+import com.auth0.android.lock.internal.network.HttpClientResolver;
+import com.auth0.android.lock.internal.threading.LockExecutor;
 import com.auth0.android.lock.provider.AuthResolver;
 import com.auth0.android.lock.utils.CustomField;
 import com.auth0.android.lock.utils.LockException;
 import com.auth0.android.provider.AuthHandler;
+import com.auth0.android.result.Credentials;
+import com.auth0.android.result.DatabaseUser;
 import com.auth0.android.util.Telemetry;
+import com.squareup.okhttp.OkHttpClient;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -53,12 +60,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 public class Lock {
 
     private static final String TAG = Lock.class.getSimpleName();
     private final LockCallback callback;
     private final Options options;
+    private final String optionsToken;
 
     /**
      * Listens to LockActivity broadcasts and fires the correct action on the LockCallback.
@@ -71,9 +80,40 @@ public class Lock {
         }
     };
 
-    private Lock(Options options, LockCallback callback) {
+    /**
+     * Receives the LockActivity results directly, while this instance is alive.
+     */
+    private final LockResultDispatcher.Listener resultListener = new LockResultDispatcher.Listener() {
+
+        @Override
+        public void onAuthentication(@NonNull Credentials credentials) {
+            Log.v(TAG, "AUTHENTICATION result received from the LockActivity");
+            LockResultDispatcher.notifyAuthentication(callback, credentials);
+        }
+
+        @Override
+        public void onSignUp(@NonNull DatabaseUser user) {
+            Log.v(TAG, "SIGN_UP result received from the LockActivity");
+            callback.onEvent(LockEvent.SIGN_UP, LockResultDispatcher.newSignUpIntent(user));
+        }
+
+        @Override
+        public void onCanceled() {
+            Log.v(TAG, "CANCELED result received from the LockActivity");
+            callback.onEvent(LockEvent.CANCELED, new Intent());
+        }
+
+        @Override
+        public void onInvalidConfiguration(@NonNull String errorDescription) {
+            Log.v(TAG, "INVALID_CONFIGURATION result received from the LockActivity");
+            callback.onError(new LockException(errorDescription));
+        }
+    };
+
+    private Lock(Options options, LockCallback callback, LockMetrics metrics) {
         this.options = options;
         this.callback = callback;
+        this.optionsToken = OptionsRegistry.register(options, resultListener, metrics);
     }
 
     /**
@@ -85,6 +125,31 @@ public class Lock {
         return options;
     }
 
+    /**
+     * Uses the given OkHttpClient on the requests Lock makes to fetch the Application configuration, so that
+     * the connections already established by the application can be reused. This is a process wide setting:
+     * it applies to every Lock and PasswordlessLock instance, including the fetches already in progress.
+     * By default, Lock creates and reuses its own client. Call it before building any instance.
+     *
+     * @param client the OkHttpClient to use.
+     */
+    @SuppressWarnings("unused")
+    public static void setHttpClient(@NonNull OkHttpClient client) {
+        HttpClientResolver.setHttpClient(client);
+    }
+
+    /**
+     * Runs the Lock background jobs, like reading the cached Application or the stored preferences, on the
+     * given ExecutorService. This is a process wide setting: it applies to every Lock and PasswordlessLock
+     * instance. By default, Lock uses its own small pool of background threads. Call it before building any instance.
+     *
+     * @param executor the ExecutorService to use.
+     */
+    @SuppressWarnings("unused")
+    public static void setBackgroundExecutor(@NonNull ExecutorService executor) {
+        LockExecutor.setExecutorService(executor);
+    }
+
     /**
      * Creates a new Lock.Builder instance with the given account and callback.
      *
@@ -120,7 +185,8 @@ public class Lock {
     @SuppressWarnings("unused")
     public Intent newIntent(Activity activity) {
         Intent lockIntent = new Intent(activity, LockActivity.class);
-        lockIntent.putExtra(Constants.OPTIONS_EXTRA, options);
+        lockIntent.putExtra(Constants.OPTIONS_TOKEN_EXTRA, optionsToken);
+        OptionsRegistry.retainForLaunch(optionsToken);
         return lockIntent;
     }
 
@@ -133,6 +199,7 @@ public class Lock {
     @SuppressWarnings("unused")
     public void onDestroy(Activity activity) {
         LocalBroadcastManager.getInstance(activity).unregisterReceiver(this.receiver);
+        OptionsRegistry.unregister(optionsToken);
     }
 
     private void initialize(Activity activity) {
@@ -144,6 +211,14 @@ public class Lock {
         LocalBroadcastManager.getInstance(activity).registerReceiver(this.receiver, filter);
     }
 
+    /**
+     * Starts fetching the Application in the background. The LockActivity will use the result,
+     * or wait for the fetch in progress, instead of making a new request.
+     */
+    private void prefetchConfiguration(Activity activity) {
+        ApplicationFetcher.prefetch(options.getAccount(), activity.getCacheDir());
+    }
+
     private void processEvent(Intent data) {
         String action = data.getAction();
         switch (action) {
@@ -177,6 +252,8 @@ public class Lock {
         private static final String TAG = Builder.class.getSimpleName();
         private Options options;
         private LockCallback callback;
+        private boolean prefetchConfiguration;
+        private LockMetrics metrics;
 
         /**
          * Creates a new Lock.Builder instance with the given account and callback.
@@ -232,8 +309,11 @@ public class Lock {
                 options.getAccount().setTelemetry(new Telemetry(Constants.LIBRARY_NAME, com.auth0.android.lock.BuildConfig.VERSION_NAME, com.auth0.android.auth0.BuildConfig.VERSION_NAME));
             }
 
-            final Lock lock = new Lock(options, callback);
+            final Lock lock = new Lock(options, callback, metrics);
             lock.initialize(activity);
+            if (prefetchConfiguration) {
+                lock.prefetchConfiguration(activity);
+            }
             return lock;
         }
 
@@ -275,6 +355,32 @@ public class Lock {
             return this;
         }
 
+        /**
+         * Whether to start fetching the Application configuration as soon as this instance is built, instead of
+         * waiting for the LockActivity to be launched. Useful to hide the fetch latency behind a splash or onboarding screen.
+         *
+         * @param prefetch or not. By default, the configuration is fetched when the LockActivity is launched.
+         * @return the current builder instance
+         */
+        public Builder prefetchConfiguration(boolean prefetch) {
+            this.prefetchConfiguration = prefetch;
+            return this;
+        }
+
+        /**
+         * Reports how long each step of Lock takes to the given LockMetrics, like fetching the Application,
+         * configuring the widget or waiting for the Authentication API. The steps are also written as systrace
+         * sections. The listener is only used while the Activity launched by this Lock instance is running, so other
+         * Lock instances don't affect it. By default, the steps are not reported.
+         *
+         * @param metrics the LockMetrics to report the steps to, or null to not report them.
+         * @return the current builder instance
+         */
+        public Builder withMetrics(@Nullable LockMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
         /**
          * Customize Lock's appearance.
          *
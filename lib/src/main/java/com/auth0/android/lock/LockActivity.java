@@ -36,7 +36,6 @@ import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 import android.support.v4.app.ActivityCompat;
 import android.support.v4.content.ContextCompat;
-import android.support.v4.content.LocalBroadcastManager;
 import android.support.v7.app.AppCompatActivity;
 import android.text.TextUtils;
 import android.util.Log;
@@ -52,6 +51,7 @@ import com.auth0.android.authentication.AuthenticationException;
 import com.auth0.android.authentication.ParameterBuilder;
 import com.auth0.android.authentication.request.SignUpRequest;
 import com.auth0.android.callback.AuthenticationCallback;
+import com.auth0.android.lock.LockMetrics.LockSpan;
 import com.auth0.android.lock.errors.AuthenticationError;
 import com.auth0.android.lock.errors.LoginErrorMessageBuilder;
 import com.auth0.android.lock.errors.SignUpErrorMessageBuilder;
@@ -59,12 +59,17 @@ import com.auth0.android.lock.events.DatabaseChangePasswordEvent;
 import com.auth0.android.lock.events.DatabaseLoginEvent;
 import com.auth0.android.lock.events.DatabaseSignUpEvent;
 import com.auth0.android.lock.events.FetchApplicationEvent;
+import com.auth0.android.lock.events.LockEventBus;
 import com.auth0.android.lock.events.LockMessageEvent;
 import com.auth0.android.lock.events.OAuthLoginEvent;
+import com.auth0.android.lock.internal.configuration.ApplicationDiskCache;
 import com.auth0.android.lock.internal.configuration.ApplicationFetcher;
+import com.auth0.android.lock.internal.configuration.ApplicationMemoryCache;
 import com.auth0.android.lock.internal.configuration.Configuration;
 import com.auth0.android.lock.internal.configuration.Connection;
 import com.auth0.android.lock.internal.configuration.Options;
+import com.auth0.android.lock.internal.network.HttpClientResolver;
+import com.auth0.android.lock.internal.tracing.LockTrace;
 import com.auth0.android.lock.provider.AuthResolver;
 import com.auth0.android.lock.views.ClassicLockView;
 import com.auth0.android.provider.AuthCallback;
@@ -73,9 +78,6 @@ import com.auth0.android.provider.WebAuthProvider;
 import com.auth0.android.request.AuthenticationRequest;
 import com.auth0.android.result.Credentials;
 import com.auth0.android.result.DatabaseUser;
-import com.squareup.okhttp.OkHttpClient;
-import com.squareup.otto.Bus;
-import com.squareup.otto.Subscribe;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -95,6 +97,8 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
     private ApplicationFetcher applicationFetcher;
     private Configuration configuration;
     private Options options;
+    private String optionsToken;
+    private LockMetrics metrics;
     private Handler handler;
 
     private ClassicLockView lockView;
@@ -122,14 +126,23 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        if (!hasValidLaunchConfig()) {
+        optionsToken = getIntent().getStringExtra(Constants.OPTIONS_TOKEN_EXTRA);
+        //Report the steps of this launch to the LockMetrics of the Lock instance that started it, if any
+        metrics = OptionsRegistry.getMetrics(optionsToken);
+        LockTrace.setMetrics(metrics);
+        if (!hasValidLaunchConfig(savedInstanceState)) {
             return;
         }
 
-        getWindow().setSoftInputMode(WindowManager.LayoutParams.SOFT_INPUT_ADJUST_RESIZE);
-        Bus lockBus = new Bus();
-        lockBus.register(this);
+        //Start fetching the Application first, so the request runs while the views are created
         handler = new Handler(getMainLooper());
+        final long fetchStart = LockTrace.beginSection(LockSpan.START_APPLICATION_FETCH);
+        fetchApplication();
+        LockTrace.endSection(LockSpan.START_APPLICATION_FETCH, fetchStart);
+
+        final long viewsStart = LockTrace.beginSection(LockSpan.CREATE_VIEWS);
+        getWindow().setSoftInputMode(WindowManager.LayoutParams.SOFT_INPUT_ADJUST_RESIZE);
+        LockEventBus lockBus = new LockEventBus(eventSubscriber);
         webProvider = new WebProvider(options);
 
         setContentView(R.layout.com_auth0_lock_activity_lock);
@@ -142,13 +155,12 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
 
         loginErrorBuilder = new LoginErrorMessageBuilder(R.string.com_auth0_lock_db_login_error_message, R.string.com_auth0_lock_db_login_error_invalid_credentials_message);
         signUpErrorBuilder = new SignUpErrorMessageBuilder();
-
-        lockBus.post(new FetchApplicationEvent());
+        LockTrace.endSection(LockSpan.CREATE_VIEWS, viewsStart);
     }
 
-    private boolean hasValidLaunchConfig() {
+    private boolean hasValidLaunchConfig(@Nullable Bundle savedInstanceState) {
         String errorDescription = null;
-        if (!hasValidOptions()) {
+        if (!hasValidOptions(savedInstanceState)) {
             errorDescription = "Configuration is not valid and the Activity will finish.";
         }
         if (!hasValidTheme()) {
@@ -157,9 +169,7 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
         if (errorDescription == null) {
             return true;
         }
-        Intent intent = new Intent(Constants.INVALID_CONFIGURATION_ACTION);
-        intent.putExtra(Constants.ERROR_EXTRA, errorDescription);
-        LocalBroadcastManager.getInstance(this).sendBroadcast(intent);
+        LockResultDispatcher.deliverInvalidConfiguration(this, optionsToken, errorDescription);
         finish();
         return false;
     }
@@ -171,11 +181,20 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
         return validTheme;
     }
 
-    private boolean hasValidOptions() {
-        options = getIntent().getParcelableExtra(Constants.OPTIONS_EXTRA);
+    private boolean hasValidOptions(@Nullable Bundle savedInstanceState) {
+        options = OptionsRegistry.get(optionsToken);
+        if (options == null && savedInstanceState != null) {
+            //The process was restarted and the Lock instance is gone. Use the copy saved by this Activity.
+            options = savedInstanceState.getParcelable(Constants.OPTIONS_EXTRA);
+        }
         if (options == null) {
-            Log.e(TAG, "Lock Options are missing in the received Intent and LockActivity will not launch. " +
-                    "Use the PasswordlessLock.Builder to generate a valid Intent.");
+            if (optionsToken == null) {
+                Log.e(TAG, "The Lock Options token is missing in the received Intent and LockActivity will not launch. " +
+                        "Use the Lock.newIntent method to generate a valid Intent.");
+            } else {
+                Log.e(TAG, "The Lock Options referenced by the received Intent are no longer available in this process and LockActivity will not launch. " +
+                        "Create a new Intent with Lock.newIntent for each launch.");
+            }
             return false;
         }
 
@@ -195,6 +214,29 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
         return true;
     }
 
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        if (options != null) {
+            outState.putParcelable(Constants.OPTIONS_EXTRA, options);
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (applicationFetcher != null) {
+            applicationFetcher.cancel(applicationCallback);
+            applicationFetcher = null;
+        }
+        if (isFinishing()) {
+            OptionsRegistry.releaseLaunch(optionsToken);
+            if (metrics != null) {
+                LockTrace.clearMetrics(metrics);
+            }
+        }
+        super.onDestroy();
+    }
+
     @Override
     public void onBackPressed() {
         if (lockView.onBackPressed() || !options.isClosable()) {
@@ -202,29 +244,17 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
         }
 
         Log.v(TAG, "User had just closed the activity.");
-        Intent intent = new Intent(Constants.CANCELED_ACTION);
-        LocalBroadcastManager.getInstance(LockActivity.this).sendBroadcast(intent);
+        LockResultDispatcher.deliverCanceled(this, optionsToken);
         super.onBackPressed();
     }
 
     private void deliverAuthenticationResult(Credentials credentials) {
-        Intent intent = new Intent(Constants.AUTHENTICATION_ACTION);
-        intent.putExtra(Constants.ID_TOKEN_EXTRA, credentials.getIdToken());
-        intent.putExtra(Constants.ACCESS_TOKEN_EXTRA, credentials.getAccessToken());
-        intent.putExtra(Constants.REFRESH_TOKEN_EXTRA, credentials.getRefreshToken());
-        intent.putExtra(Constants.TOKEN_TYPE_EXTRA, credentials.getType());
-        intent.putExtra(Constants.EXPIRES_IN_EXTRA, credentials.getExpiresIn());
-
-        LocalBroadcastManager.getInstance(this).sendBroadcast(intent);
+        LockResultDispatcher.deliverAuthentication(this, optionsToken, credentials);
         finish();
     }
 
     private void deliverSignUpResult(DatabaseUser result) {
-        Intent intent = new Intent(Constants.SIGN_UP_ACTION);
-        intent.putExtra(Constants.EMAIL_EXTRA, result.getEmail());
-        intent.putExtra(Constants.USERNAME_EXTRA, result.getEmail());
-
-        LocalBroadcastManager.getInstance(this).sendBroadcast(intent);
+        LockResultDispatcher.deliverSignUp(this, optionsToken, result);
         finish();
     }
 
@@ -293,17 +323,21 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
         super.onNewIntent(intent);
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe
     public void onFetchApplicationRequest(FetchApplicationEvent event) {
+        fetchApplication();
+    }
+
+    /**
+     * Starts fetching the Application, unless it's already being fetched. A fetch started by the Lock
+     * instance before launching this Activity is awaited instead of making a new request.
+     */
+    private void fetchApplication() {
         if (applicationFetcher == null) {
-            applicationFetcher = new ApplicationFetcher(options.getAccount(), new OkHttpClient());
+            applicationFetcher = new ApplicationFetcher(options.getAccount(), HttpClientResolver.getHttpClient(), ApplicationMemoryCache.getInstance(), new ApplicationDiskCache(getCacheDir()));
             applicationFetcher.fetch(applicationCallback);
         }
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe
     public void onLockMessage(final LockMessageEvent event) {
         handler.post(new Runnable() {
             @Override
@@ -313,8 +347,6 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
         });
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe
     public void onOAuthAuthenticationRequest(OAuthLoginEvent event) {
         final String connection = event.getConnection();
 
@@ -330,7 +362,7 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
             if (options.getAudience() != null && options.getAccount().isOIDCConformant()) {
                 request.setAudience(options.getAudience());
             }
-            request.start(authCallback);
+            request.start(LockTrace.traceRequest(authCallback));
             return;
         }
 
@@ -366,8 +398,6 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
         webProvider.start(this, connection, extraAuthParameters, authProviderCallback, WEB_AUTH_REQUEST_CODE);
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe
     public void onDatabaseAuthenticationRequest(DatabaseLoginEvent event) {
         if (configuration.getDatabaseConnection() == null) {
             Log.w(TAG, "There is no default Database connection to authenticate with");
@@ -390,11 +420,9 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
         if (options.getAudience() != null && options.getAccount().isOIDCConformant()) {
             request.setAudience(options.getAudience());
         }
-        request.start(authCallback);
+        request.start(LockTrace.traceRequest(authCallback));
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe
     public void onDatabaseAuthenticationRequest(DatabaseSignUpEvent event) {
         if (configuration.getDatabaseConnection() == null) {
             Log.w(TAG, "There is no default Database connection to authenticate with");
@@ -415,15 +443,13 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
             if (options.getAudience() != null && options.getAccount().isOIDCConformant()) {
                 request.setAudience(options.getAudience());
             }
-            request.start(authCallback);
+            request.start(LockTrace.traceRequest(authCallback));
         } else {
             event.getCreateUserRequest(apiClient, connection)
-                    .start(createCallback);
+                    .start(LockTrace.traceRequest(createCallback));
         }
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe
     public void onDatabaseAuthenticationRequest(DatabaseChangePasswordEvent event) {
         if (configuration.getDatabaseConnection() == null) {
             Log.w(TAG, "There is no default Database connection to authenticate with");
@@ -434,10 +460,42 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
         AuthenticationAPIClient apiClient = options.getAuthenticationAPIClient();
         final String connection = configuration.getDatabaseConnection().getName();
         apiClient.resetPassword(event.getEmail(), connection)
-                .start(changePwdCallback);
+                .start(LockTrace.traceRequest(changePwdCallback));
     }
 
     //Callbacks
+    private LockEventBus.Subscriber eventSubscriber = new LockEventBus.SimpleSubscriber() {
+        @Override
+        public void onFetchApplicationRequest(@NonNull FetchApplicationEvent event) {
+            LockActivity.this.onFetchApplicationRequest(event);
+        }
+
+        @Override
+        public void onLockMessage(@NonNull LockMessageEvent event) {
+            LockActivity.this.onLockMessage(event);
+        }
+
+        @Override
+        public void onOAuthAuthenticationRequest(@NonNull OAuthLoginEvent event) {
+            LockActivity.this.onOAuthAuthenticationRequest(event);
+        }
+
+        @Override
+        public void onDatabaseAuthenticationRequest(@NonNull DatabaseLoginEvent event) {
+            LockActivity.this.onDatabaseAuthenticationRequest(event);
+        }
+
+        @Override
+        public void onDatabaseAuthenticationRequest(@NonNull DatabaseSignUpEvent event) {
+            LockActivity.this.onDatabaseAuthenticationRequest(event);
+        }
+
+        @Override
+        public void onDatabaseAuthenticationRequest(@NonNull DatabaseChangePasswordEvent event) {
+            LockActivity.this.onDatabaseAuthenticationRequest(event);
+        }
+    };
+
     private com.auth0.android.callback.AuthenticationCallback<List<Connection>> applicationCallback = new AuthenticationCallback<List<Connection>>() {
         @Override
         public void onSuccess(final List<Connection> connections) {
@@ -492,14 +550,24 @@ public class LockActivity extends AppCompatActivity implements ActivityCompat.On
 
         @Override
         public void onSuccess(@NonNull final Credentials credentials) {
-            deliverAuthenticationResult(credentials);
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    deliverAuthenticationResult(credentials);
+                }
+            });
         }
     };
 
     private AuthenticationCallback<Credentials> authCallback = new AuthenticationCallback<Credentials>() {
         @Override
-        public void onSuccess(Credentials credentials) {
-            deliverAuthenticationResult(credentials);
+        public void onSuccess(final Credentials credentials) {
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    deliverAuthenticationResult(credentials);
+                }
+            });
             lastDatabaseLogin = null;
         }
 
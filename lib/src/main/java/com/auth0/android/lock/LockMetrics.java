@@ -0,0 +1,75 @@
+/*
+ * LockMetrics.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.StringDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import static com.auth0.android.lock.LockMetrics.LockSpan.AUTHENTICATION_REQUEST;
+import static com.auth0.android.lock.LockMetrics.LockSpan.BUILD_CONFIGURATION;
+import static com.auth0.android.lock.LockMetrics.LockSpan.CONFIGURE_VIEW;
+import static com.auth0.android.lock.LockMetrics.LockSpan.CREATE_VIEWS;
+import static com.auth0.android.lock.LockMetrics.LockSpan.DELIVER_RESULT;
+import static com.auth0.android.lock.LockMetrics.LockSpan.FETCH_APPLICATION;
+import static com.auth0.android.lock.LockMetrics.LockSpan.PARSE_APPLICATION;
+import static com.auth0.android.lock.LockMetrics.LockSpan.START_APPLICATION_FETCH;
+import static com.auth0.android.lock.LockMetrics.LockSpan.VALIDATE_INPUT;
+
+/**
+ * Listener used by Lock to report how long each of its steps took, from fetching the Application
+ * to delivering the result. Spans can be reported from any thread, so implementations must be quick
+ * and thread safe.
+ */
+public interface LockMetrics {
+    /**
+     * Steps of Lock that are measured. The names are also used for the systrace sections.
+     */
+    @SuppressWarnings("UnnecessaryInterfaceModifier")
+    @StringDef({START_APPLICATION_FETCH, CREATE_VIEWS, FETCH_APPLICATION, PARSE_APPLICATION, BUILD_CONFIGURATION, CONFIGURE_VIEW, AUTHENTICATION_REQUEST, DELIVER_RESULT, VALIDATE_INPUT})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface LockSpan {
+        String START_APPLICATION_FETCH = "Lock:startApplicationFetch";
+        String CREATE_VIEWS = "Lock:createViews";
+        String FETCH_APPLICATION = "Lock:fetchApplication";
+        String PARSE_APPLICATION = "Lock:parseApplication";
+        String BUILD_CONFIGURATION = "Lock:buildConfiguration";
+        String CONFIGURE_VIEW = "Lock:configureView";
+        String AUTHENTICATION_REQUEST = "Lock:authenticationRequest";
+        String DELIVER_RESULT = "Lock:deliverResult";
+        String VALIDATE_INPUT = "Lock:validateInput";
+    }
+
+    /**
+     * Called when a measured step of Lock ends.
+     *
+     * @param span       the step that ended.
+     * @param startNanos when the step started, as given by System.nanoTime().
+     * @param endNanos   when the step ended, as given by System.nanoTime().
+     */
+    void onSpan(@NonNull @LockSpan String span, long startNanos, long endNanos);
+}
@@ -0,0 +1,168 @@
+/*
+ * LockResultDispatcher.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.content.LocalBroadcastManager;
+
+import com.auth0.android.lock.LockCallback.LockEvent;
+import com.auth0.android.lock.LockMetrics.LockSpan;
+import com.auth0.android.lock.internal.tracing.LockTrace;
+import com.auth0.android.result.Credentials;
+import com.auth0.android.result.DatabaseUser;
+
+/**
+ * Delivers the results of the Lock Activities. When the Lock instance that launched the Activity is alive
+ * in this process, its listener is called with the results on the main thread. Otherwise, as after a process
+ * restart, the results are broadcasted so any Lock instance created since then still receives them.
+ */
+abstract class LockResultDispatcher {
+
+    /**
+     * Receives the results of the Activity launched by a Lock instance.
+     */
+    interface Listener {
+
+        void onAuthentication(@NonNull Credentials credentials);
+
+        void onSignUp(@NonNull DatabaseUser user);
+
+        void onCanceled();
+
+        void onInvalidConfiguration(@NonNull String errorDescription);
+    }
+
+    private interface Delivery {
+
+        void deliverTo(@NonNull Listener listener);
+    }
+
+    static void deliverAuthentication(@NonNull Context context, @Nullable String token, @NonNull final Credentials credentials) {
+        deliver(context, token, new Delivery() {
+            @Override
+            public void deliverTo(@NonNull Listener listener) {
+                listener.onAuthentication(credentials);
+            }
+        }, newAuthenticationIntent(credentials));
+    }
+
+    static void deliverSignUp(@NonNull Context context, @Nullable String token, @NonNull final DatabaseUser user) {
+        deliver(context, token, new Delivery() {
+            @Override
+            public void deliverTo(@NonNull Listener listener) {
+                listener.onSignUp(user);
+            }
+        }, newSignUpIntent(user));
+    }
+
+    static void deliverCanceled(@NonNull Context context, @Nullable String token) {
+        deliver(context, token, new Delivery() {
+            @Override
+            public void deliverTo(@NonNull Listener listener) {
+                listener.onCanceled();
+            }
+        }, new Intent(Constants.CANCELED_ACTION));
+    }
+
+    static void deliverInvalidConfiguration(@NonNull Context context, @Nullable String token, @NonNull final String errorDescription) {
+        Intent intent = new Intent(Constants.INVALID_CONFIGURATION_ACTION);
+        intent.putExtra(Constants.ERROR_EXTRA, errorDescription);
+        deliver(context, token, new Delivery() {
+            @Override
+            public void deliverTo(@NonNull Listener listener) {
+                listener.onInvalidConfiguration(errorDescription);
+            }
+        }, intent);
+    }
+
+    /**
+     * Calls the listener registered with the token on the main thread, or broadcasts the fallback Intent if it's gone.
+     * The delivery may end on another thread, so it's only reported to the LockMetrics once the listener returns.
+     */
+    private static void deliver(@NonNull Context context, @Nullable String token, @NonNull final Delivery delivery, @NonNull Intent fallback) {
+        final long start = LockTrace.now();
+        final Listener listener = OptionsRegistry.getResultListener(token);
+        if (listener == null) {
+            LocalBroadcastManager.getInstance(context).sendBroadcast(fallback);
+            LockTrace.report(LockSpan.DELIVER_RESULT, start);
+            return;
+        }
+        runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    delivery.deliverTo(listener);
+                } finally {
+                    LockTrace.report(LockSpan.DELIVER_RESULT, start);
+                }
+            }
+        });
+    }
+
+    private static void runOnMainThread(@NonNull Runnable runnable) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            runnable.run();
+        } else {
+            new Handler(Looper.getMainLooper()).post(runnable);
+        }
+    }
+
+    /**
+     * Notifies the callback of the authentication. An {@link AuthenticationCallback} takes the Credentials as they are,
+     * unless it overrides onEvent. Any other callback receives them as Intent extras.
+     *
+     * @param callback    the one to notify.
+     * @param credentials the result of the authentication.
+     */
+    static void notifyAuthentication(@NonNull LockCallback callback, @NonNull Credentials credentials) {
+        if (callback instanceof AuthenticationCallback && !((AuthenticationCallback) callback).overridesOnEvent()) {
+            ((AuthenticationCallback) callback).deliverAuthentication(credentials);
+        } else {
+            callback.onEvent(LockEvent.AUTHENTICATION, newAuthenticationIntent(credentials));
+        }
+    }
+
+    static Intent newAuthenticationIntent(@NonNull Credentials credentials) {
+        Intent intent = new Intent(Constants.AUTHENTICATION_ACTION);
+        intent.putExtra(Constants.ID_TOKEN_EXTRA, credentials.getIdToken());
+        intent.putExtra(Constants.ACCESS_TOKEN_EXTRA, credentials.getAccessToken());
+        intent.putExtra(Constants.REFRESH_TOKEN_EXTRA, credentials.getRefreshToken());
+        intent.putExtra(Constants.TOKEN_TYPE_EXTRA, credentials.getType());
+        intent.putExtra(Constants.EXPIRES_IN_EXTRA, credentials.getExpiresIn());
+        return intent;
+    }
+
+    static Intent newSignUpIntent(@NonNull DatabaseUser user) {
+        Intent intent = new Intent(Constants.SIGN_UP_ACTION);
+        intent.putExtra(Constants.EMAIL_EXTRA, user.getEmail());
+        intent.putExtra(Constants.USERNAME_EXTRA, user.getEmail());
+        return intent;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * OptionsRegistry.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.auth0.android.lock.internal.configuration.Options;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Keeps the Options of the Lock instances alive in this process, so the Activities can take them by reference
+ * using the token sent in the launch Intent instead of unmarshalling a copy. The listener of the results and the
+ * LockMetrics of each Lock instance are kept under the same token. The Options and the listener are weakly referenced, and the tokens include an id of the
+ * process, so a token restored in a new process is never resolved. While an Intent created for the token has not
+ * been finished by its Activity, the Options are also strongly referenced, so the Activity can still resolve them
+ * when the Lock instance was destroyed right after starting it.
+ */
+abstract class OptionsRegistry {
+
+    private static final String PROCESS_ID = Process.myPid() + "-" + SystemClock.elapsedRealtime();
+    private static final Map<String, Entry> entries = new HashMap<>();
+    private static long lastId;
+
+    /**
+     * Registers the Options and the listener of the results, making them available to the Activities of this process.
+     *
+     * @param options        the Options to register.
+     * @param resultListener the one to notify of the results, or null if they should only be broadcasted.
+     * @param metrics        the one to report the steps of the launched Activity to, or null to not report them.
+     * @return the token to use to look up the Options, the listener and the metrics.
+     */
+    @NonNull
+    static synchronized String register(@NonNull Options options, @Nullable LockResultDispatcher.Listener resultListener, @Nullable LockMetrics metrics) {
+        removeClearedEntries();
+        final String token = PROCESS_ID + "-" + (++lastId);
+        entries.put(token, new Entry(options, resultListener, metrics));
+        return token;
+    }
+
+    /**
+     * Looks up the Options registered with the given token.
+     *
+     * @param token the token returned when the Options were registered.
+     * @return the registered Options, or null if they are no longer available in this process.
+     */
+    @Nullable
+    static synchronized Options get(@Nullable String token) {
+        if (token == null) {
+            return null;
+        }
+        final Entry entry = entries.get(token);
+        return entry == null ? null : entry.getOptions();
+    }
+
+    /**
+     * Looks up the listener of the results registered with the given token.
+     *
+     * @param token the token returned when the Options were registered.
+     * @return the registered listener, or null if it is no longer available in this process.
+     */
+    @Nullable
+    static synchronized LockResultDispatcher.Listener getResultListener(@Nullable String token) {
+        if (token == null) {
+            return null;
+        }
+        final Entry entry = entries.get(token);
+        return entry == null || entry.resultListener == null ? null : entry.resultListener.get();
+    }
+
+    /**
+     * Looks up the LockMetrics registered with the given token.
+     *
+     * @param token the token returned when the Options were registered.
+     * @return the registered LockMetrics, or null if none was registered or it is no longer available in this process.
+     */
+    @Nullable
+    static synchronized LockMetrics getMetrics(@Nullable String token) {
+        if (token == null) {
+            return null;
+        }
+        final Entry entry = entries.get(token);
+        return entry == null ? null : entry.metrics;
+    }
+
+    /**
+     * Keeps the Options registered with the given token until an Activity launched with it calls
+     * {@link #releaseLaunch(String)}, even if the Lock instance is destroyed before the Activity starts.
+     *
+     * @param token the token returned when the Options were registered.
+     */
+    static synchronized void retainForLaunch(@NonNull String token) {
+        final Entry entry = entries.get(token);
+        if (entry != null) {
+            entry.pendingLaunches++;
+            entry.pinnedOptions = entry.options.get();
+        }
+    }
+
+    /**
+     * Called by an Activity launched with the given token once it finishes. The Options are removed
+     * if the Lock instance was already destroyed and no other launch is pending.
+     *
+     * @param token the token received in the launch Intent, if any.
+     */
+    static synchronized void releaseLaunch(@Nullable String token) {
+        final Entry entry = token == null ? null : entries.get(token);
+        if (entry == null || entry.pendingLaunches == 0) {
+            return;
+        }
+        entry.pendingLaunches--;
+        if (entry.pendingLaunches > 0) {
+            return;
+        }
+        entry.pinnedOptions = null;
+        if (entry.unregistered) {
+            entries.remove(token);
+        }
+    }
+
+    /**
+     * Removes the Options registered with the given token. If an Activity launched with the token has not
+     * finished yet, they are kept until it calls {@link #releaseLaunch(String)}.
+     *
+     * @param token the token returned when the Options were registered.
+     */
+    static synchronized void unregister(@NonNull String token) {
+        final Entry entry = entries.get(token);
+        if (entry != null && entry.pendingLaunches > 0) {
+            entry.unregistered = true;
+            return;
+        }
+        entries.remove(token);
+    }
+
+    private static void removeClearedEntries() {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getOptions() == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class Entry {
+        final WeakReference<Options> options;
+        final WeakReference<LockResultDispatcher.Listener> resultListener;
+        final LockMetrics metrics;
+        Options pinnedOptions;
+        int pendingLaunches;
+        boolean unregistered;
+
+        Entry(Options options, LockResultDispatcher.Listener resultListener, LockMetrics metrics) {
+            this.options = new WeakReference<>(options);
+            this.resultListener = resultListener == null ? null : new WeakReference<>(resultListener);
+            this.metrics = metrics;
+        }
+
+        Options getOptions() {
+            return pinnedOptions != null ? pinnedOptions : options.get();
+        }
+    }
+}
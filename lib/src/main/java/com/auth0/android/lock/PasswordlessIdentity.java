@@ -0,0 +1,73 @@
+package com.auth0.android.lock;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.auth0.android.lock.adapters.Country;
+import com.auth0.android.lock.internal.configuration.PasswordlessMode;
+
+/**
+ * The identity used on the last successful passwordless log in, as stored by the {@link PasswordlessIdentityHelper}.
+ * The stored values are parsed once, when the record is created.
+ */
+class PasswordlessIdentity {
+
+    static final String COUNTRY_DATA_DIV = "@";
+
+    private final String identity;
+    private final Country country;
+    @PasswordlessMode
+    private final int mode;
+
+    PasswordlessIdentity(@NonNull String identity, @Nullable Country country, @PasswordlessMode int mode) {
+        this.country = country;
+        this.mode = mode;
+        if (country != null && identity.startsWith(country.getDialCode())) {
+            identity = identity.substring(country.getDialCode().length());
+        }
+        this.identity = identity;
+    }
+
+    /**
+     * Getter for the stored email or phone number. Phone numbers don't include the country dial code.
+     */
+    @NonNull
+    String getIdentity() {
+        return identity;
+    }
+
+    @Nullable
+    Country getCountry() {
+        return country;
+    }
+
+    @PasswordlessMode
+    int getMode() {
+        return mode;
+    }
+
+    /**
+     * Formats the country the way it's stored, as "isoCode@dialCode".
+     */
+    @Nullable
+    static String formatCountry(@Nullable Country country) {
+        return country != null ? country.getIsoCode() + COUNTRY_DATA_DIV + country.getDialCode() : null;
+    }
+
+    /**
+     * Parses a country stored as "isoCode@dialCode".
+     *
+     * @return the country or null if there is none or it's not valid.
+     */
+    @Nullable
+    static Country parseCountry(@Nullable String countryData) {
+        if (countryData == null) {
+            return null;
+        }
+        final int div = countryData.indexOf(COUNTRY_DATA_DIV);
+        if (div == -1) {
+            return null;
+        }
+        return new Country(countryData.substring(0, div), countryData.substring(div + COUNTRY_DATA_DIV.length()));
+    }
+}
@@ -4,9 +4,14 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.util.Log;
 
 import com.auth0.android.lock.adapters.Country;
 import com.auth0.android.lock.internal.configuration.PasswordlessMode;
+import com.auth0.android.lock.internal.threading.LockExecutor;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import static com.auth0.android.lock.internal.configuration.PasswordlessMode.DISABLED;
 import static com.auth0.android.lock.internal.configuration.PasswordlessMode.EMAIL_CODE;
@@ -15,56 +20,89 @@ import static com.auth0.android.lock.internal.configuration.PasswordlessMode.SMS
 import static com.auth0.android.lock.internal.configuration.PasswordlessMode.SMS_LINK;
 
 class PasswordlessIdentityHelper {
+
+    private static final String TAG = PasswordlessIdentityHelper.class.getSimpleName();
     private static final String LAST_PASSWORDLESS_IDENTITY_KEY = "last_passwordless_identity";
     private static final String LAST_PASSWORDLESS_COUNTRY_KEY = "last_passwordless_country";
     private static final String LAST_PASSWORDLESS_MODE_KEY = "last_passwordless_mode";
     private static final String LOCK_PREFERENCES_NAME = "Lock";
-    private static final String COUNTRY_DATA_DIV = "@";
 
-    private final SharedPreferences sp;
+    private final Context context;
     @PasswordlessMode
     private final int mode;
+    private volatile PasswordlessIdentity snapshot;
 
     PasswordlessIdentityHelper(@NonNull Context context, @PasswordlessMode int mode) {
-        sp = context.getSharedPreferences(LOCK_PREFERENCES_NAME, Context.MODE_PRIVATE);
+        this.context = context;
         this.mode = mode;
     }
 
+    /**
+     * Reads the stored identity on the Lock background executor and keeps it in memory, so that the getters
+     * don't read the preferences again. Until it's loaded, the getters read the preferences directly.
+     *
+     * If the executor rejects the load, onLoaded runs right away and the getters keep reading the preferences.
+     *
+     * @param onLoaded to run on the background thread once the identity is loaded.
+     * @return the future of the load, to cancel it if the identity is no longer needed, or null if it was rejected.
+     */
+    @Nullable
+    Future<?> preload(@NonNull final Runnable onLoaded) {
+        try {
+            return LockExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    snapshot = read();
+                    onLoaded.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Could not preload the stored identity: " + e.getMessage());
+            onLoaded.run();
+            return null;
+        }
+    }
+
     public void saveIdentity(@NonNull String identity, @Nullable Country country) {
-        String countryData = country != null ? country.getIsoCode() + COUNTRY_DATA_DIV + country.getDialCode() : null;
-        sp.edit()
+        getPreferences().edit()
                 .putString(LAST_PASSWORDLESS_IDENTITY_KEY, identity)
-                .putString(LAST_PASSWORDLESS_COUNTRY_KEY, countryData)
+                .putString(LAST_PASSWORDLESS_COUNTRY_KEY, PasswordlessIdentity.formatCountry(country))
                 .putInt(LAST_PASSWORDLESS_MODE_KEY, mode)
                 .apply();
+        snapshot = new PasswordlessIdentity(identity, country, mode);
     }
 
     public Country getLastCountry() {
-        Country country = null;
-        String countryInfo = sp.getString(LAST_PASSWORDLESS_COUNTRY_KEY, null);
-        if (countryInfo != null) {
-            String isoCode = countryInfo.split(COUNTRY_DATA_DIV)[0];
-            String dialCode = countryInfo.split(COUNTRY_DATA_DIV)[1];
-            country = new Country(isoCode, dialCode);
-        }
-        return country;
+        return getSnapshot().getCountry();
     }
 
     public String getLastIdentity() {
-        String identity = sp.getString(LAST_PASSWORDLESS_IDENTITY_KEY, "");
-        Country country = getLastCountry();
-        if (country != null && identity.startsWith(country.getDialCode())) {
-            identity = identity.substring(country.getDialCode().length());
-        }
-        return identity;
+        return getSnapshot().getIdentity();
     }
 
     public boolean hasLoggedInBefore() {
         @PasswordlessMode
-        int lastMode = sp.getInt(LAST_PASSWORDLESS_MODE_KEY, DISABLED);
+        int lastMode = getSnapshot().getMode();
         return lastMode != DISABLED && hasSameConnection(lastMode);
     }
 
+    private PasswordlessIdentity getSnapshot() {
+        final PasswordlessIdentity loaded = snapshot;
+        return loaded != null ? loaded : read();
+    }
+
+    private PasswordlessIdentity read() {
+        final SharedPreferences sp = getPreferences();
+        final String identity = sp.getString(LAST_PASSWORDLESS_IDENTITY_KEY, "");
+        final Country country = PasswordlessIdentity.parseCountry(sp.getString(LAST_PASSWORDLESS_COUNTRY_KEY, null));
+        //noinspection WrongConstant
+        return new PasswordlessIdentity(identity != null ? identity : "", country, sp.getInt(LAST_PASSWORDLESS_MODE_KEY, DISABLED));
+    }
+
+    private SharedPreferences getPreferences() {
+        return context.getSharedPreferences(LOCK_PREFERENCES_NAME, Context.MODE_PRIVATE);
+    }
+
     private boolean hasSameConnection(@PasswordlessMode int lastMode) {
         if (lastMode == mode) {
             return true;
@@ -31,6 +31,7 @@ import android.content.Intent;
 import android.content.IntentFilter;
 import android.os.Build;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.StyleRes;
 import android.support.v4.content.LocalBroadcastManager;
 import android.util.Log;
@@ -38,23 +39,31 @@ import android.util.Log;
 import com.auth0.android.Auth0;
 import com.auth0.android.authentication.ParameterBuilder;
 import com.auth0.android.lock.LockCallback.LockEvent;
+import com.auth0.android.lock.internal.configuration.ApplicationFetcher;
 import com.auth0.android.lock.internal.configuration.Options;
 import com.auth0.android.lock.internal.configuration.Theme;
+import com.auth0.android.lock.internal.network.HttpClientResolver;
+import com.auth0.android.lock.internal.threading.LockExecutor;
 import com.auth0.android.lock.provider.AuthResolver;
 import com.auth0.android.lock.utils.LockException;
 import com.auth0.android.provider.AuthHandler;
+import com.auth0.android.result.Credentials;
+import com.auth0.android.result.DatabaseUser;
 import com.auth0.android.util.Telemetry;
+import com.squareup.okhttp.OkHttpClient;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 public class PasswordlessLock {
 
     private static final String TAG = PasswordlessLock.class.getSimpleName();
     private final LockCallback callback;
     private final Options options;
+    private final String optionsToken;
 
     /**
      * Listens to PasswordlessLockActivity broadcasts and fires the correct action on the LockCallback.
@@ -67,9 +76,39 @@ public class PasswordlessLock {
         }
     };
 
-    private PasswordlessLock(Options options, LockCallback callback) {
+    /**
+     * Receives the PasswordlessLockActivity results directly, while this instance is alive.
+     */
+    private final LockResultDispatcher.Listener resultListener = new LockResultDispatcher.Listener() {
+
+        @Override
+        public void onAuthentication(@NonNull Credentials credentials) {
+            Log.v(TAG, "AUTHENTICATION result received from the PasswordlessLockActivity");
+            LockResultDispatcher.notifyAuthentication(callback, credentials);
+        }
+
+        @Override
+        public void onSignUp(@NonNull DatabaseUser user) {
+            //Passwordless has no sign up
+        }
+
+        @Override
+        public void onCanceled() {
+            Log.v(TAG, "CANCELED result received from the PasswordlessLockActivity");
+            callback.onEvent(LockEvent.CANCELED, new Intent());
+        }
+
+        @Override
+        public void onInvalidConfiguration(@NonNull String errorDescription) {
+            Log.v(TAG, "INVALID_CONFIGURATION result received from the PasswordlessLockActivity");
+            callback.onError(new LockException(errorDescription));
+        }
+    };
+
+    private PasswordlessLock(Options options, LockCallback callback, LockMetrics metrics) {
         this.options = options;
         this.callback = callback;
+        this.optionsToken = OptionsRegistry.register(options, resultListener, metrics);
     }
 
     /**
@@ -81,6 +120,31 @@ public class PasswordlessLock {
         return options;
     }
 
+    /**
+     * Uses the given OkHttpClient on the requests Lock makes to fetch the Application configuration, so that
+     * the connections already established by the application can be reused. This is a process wide setting:
+     * it applies to every Lock and PasswordlessLock instance, including the fetches already in progress.
+     * By default, Lock creates and reuses its own client. Call it before building any instance.
+     *
+     * @param client the OkHttpClient to use.
+     */
+    @SuppressWarnings("unused")
+    public static void setHttpClient(@NonNull OkHttpClient client) {
+        HttpClientResolver.setHttpClient(client);
+    }
+
+    /**
+     * Runs the Lock background jobs, like reading the cached Application or the stored preferences, on the
+     * given ExecutorService. This is a process wide setting: it applies to every Lock and PasswordlessLock
+     * instance. By default, Lock uses its own small pool of background threads. Call it before building any instance.
+     *
+     * @param executor the ExecutorService to use.
+     */
+    @SuppressWarnings("unused")
+    public static void setBackgroundExecutor(@NonNull ExecutorService executor) {
+        LockExecutor.setExecutorService(executor);
+    }
+
     /**
      * Creates a new Lock.Builder instance with the given account and callback.
      *
@@ -116,7 +180,8 @@ public class PasswordlessLock {
     @SuppressWarnings("unused")
     public Intent newIntent(Activity activity) {
         Intent lockIntent = new Intent(activity, PasswordlessLockActivity.class);
-        lockIntent.putExtra(Constants.OPTIONS_EXTRA, options);
+        lockIntent.putExtra(Constants.OPTIONS_TOKEN_EXTRA, optionsToken);
+        OptionsRegistry.retainForLaunch(optionsToken);
         return lockIntent;
     }
 
@@ -129,6 +194,7 @@ public class PasswordlessLock {
     @SuppressWarnings("unused")
     public void onDestroy(Activity activity) {
         LocalBroadcastManager.getInstance(activity).unregisterReceiver(this.receiver);
+        OptionsRegistry.unregister(optionsToken);
     }
 
     private void initialize(Activity activity) {
@@ -139,6 +205,14 @@ public class PasswordlessLock {
         LocalBroadcastManager.getInstance(activity).registerReceiver(this.receiver, filter);
     }
 
+    /**
+     * Starts fetching the Application in the background. The PasswordlessLockActivity will use the result,
+     * or wait for the fetch in progress, instead of making a new request.
+     */
+    private void prefetchConfiguration(Activity activity) {
+        ApplicationFetcher.prefetch(options.getAccount(), activity.getCacheDir());
+    }
+
     private void processEvent(Intent data) {
         String action = data.getAction();
         switch (action) {
@@ -168,6 +242,8 @@ public class PasswordlessLock {
         private static final String TAG = Builder.class.getSimpleName();
         private Options options;
         private LockCallback callback;
+        private boolean prefetchConfiguration;
+        private LockMetrics metrics;
 
         /**
          * Creates a new Lock.Builder instance with the given account and callback.
@@ -210,8 +286,11 @@ public class PasswordlessLock {
                 options.getAccount().setTelemetry(new Telemetry(Constants.LIBRARY_NAME, com.auth0.android.lock.BuildConfig.VERSION_NAME, com.auth0.android.auth0.BuildConfig.VERSION_NAME));
             }
 
-            final PasswordlessLock lock = new PasswordlessLock(options, callback);
+            final PasswordlessLock lock = new PasswordlessLock(options, callback, metrics);
             lock.initialize(activity);
+            if (prefetchConfiguration) {
+                lock.prefetchConfiguration(activity);
+            }
             return lock;
         }
 
@@ -294,6 +373,32 @@ public class PasswordlessLock {
             return this;
         }
 
+        /**
+         * Whether to start fetching the Application configuration as soon as this instance is built, instead of
+         * waiting for the PasswordlessLockActivity to be launched. Useful to hide the fetch latency behind a splash or onboarding screen.
+         *
+         * @param prefetch or not. By default, the configuration is fetched when the PasswordlessLockActivity is launched.
+         * @return the current builder instance
+         */
+        public Builder prefetchConfiguration(boolean prefetch) {
+            this.prefetchConfiguration = prefetch;
+            return this;
+        }
+
+        /**
+         * Reports how long each step of Lock takes to the given LockMetrics, like fetching the Application,
+         * configuring the widget or waiting for the Authentication API. The steps are also written as systrace
+         * sections. The listener is only used while the Activity launched by this Lock instance is running, so other
+         * Lock instances don't affect it. By default, the steps are not reported.
+         *
+         * @param metrics the LockMetrics to report the steps to, or null to not report them.
+         * @return the current builder instance
+         */
+        public Builder withMetrics(@Nullable LockMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
         /**
          * Customize Lock's appearance.
          *
@@ -36,7 +36,6 @@ import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 import android.support.v4.app.ActivityCompat;
 import android.support.v4.content.ContextCompat;
-import android.support.v4.content.LocalBroadcastManager;
 import android.support.v7.app.AppCompatActivity;
 import android.util.Log;
 import android.view.View;
@@ -51,17 +50,23 @@ import com.auth0.android.authentication.AuthenticationAPIClient;
 import com.auth0.android.authentication.AuthenticationException;
 import com.auth0.android.authentication.ParameterBuilder;
 import com.auth0.android.lock.adapters.Country;
+import com.auth0.android.lock.LockMetrics.LockSpan;
 import com.auth0.android.lock.errors.AuthenticationError;
 import com.auth0.android.lock.errors.LoginErrorMessageBuilder;
 import com.auth0.android.lock.events.CountryCodeChangeEvent;
 import com.auth0.android.lock.events.FetchApplicationEvent;
+import com.auth0.android.lock.events.LockEventBus;
 import com.auth0.android.lock.events.OAuthLoginEvent;
 import com.auth0.android.lock.events.PasswordlessLoginEvent;
+import com.auth0.android.lock.internal.configuration.ApplicationDiskCache;
 import com.auth0.android.lock.internal.configuration.ApplicationFetcher;
+import com.auth0.android.lock.internal.configuration.ApplicationMemoryCache;
 import com.auth0.android.lock.internal.configuration.Configuration;
 import com.auth0.android.lock.internal.configuration.Connection;
 import com.auth0.android.lock.internal.configuration.Options;
 import com.auth0.android.lock.internal.configuration.PasswordlessMode;
+import com.auth0.android.lock.internal.network.HttpClientResolver;
+import com.auth0.android.lock.internal.tracing.LockTrace;
 import com.auth0.android.lock.provider.AuthResolver;
 import com.auth0.android.lock.views.PasswordlessLockView;
 import com.auth0.android.provider.AuthCallback;
@@ -69,13 +74,11 @@ import com.auth0.android.provider.AuthProvider;
 import com.auth0.android.provider.WebAuthProvider;
 import com.auth0.android.request.AuthenticationRequest;
 import com.auth0.android.result.Credentials;
-import com.squareup.okhttp.OkHttpClient;
-import com.squareup.otto.Bus;
-import com.squareup.otto.Subscribe;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.Future;
 
 public class PasswordlessLockActivity extends AppCompatActivity implements ActivityCompat.OnRequestPermissionsResultCallback {
 
@@ -90,6 +93,8 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
     private ApplicationFetcher applicationFetcher;
     private Configuration configuration;
     private Options options;
+    private String optionsToken;
+    private LockMetrics metrics;
     private Handler handler;
 
     private PasswordlessLockView lockView;
@@ -98,7 +103,7 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
 
     private String lastPasswordlessIdentity;
     private Country lastPasswordlessCountry;
-    private Bus lockBus;
+    private LockEventBus lockBus;
     private ScrollView rootView;
     private TextView resendButton;
 
@@ -107,6 +112,8 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
 
     private LoginErrorMessageBuilder loginErrorBuilder;
     private PasswordlessIdentityHelper identityHelper;
+    private Future<?> identityLoad;
+    private boolean destroyed;
 
     @SuppressWarnings("unused")
     public PasswordlessLockActivity() {
@@ -124,14 +131,23 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        if (!hasValidLaunchConfig()) {
+        optionsToken = getIntent().getStringExtra(Constants.OPTIONS_TOKEN_EXTRA);
+        //Report the steps of this launch to the LockMetrics of the Lock instance that started it, if any
+        metrics = OptionsRegistry.getMetrics(optionsToken);
+        LockTrace.setMetrics(metrics);
+        if (!hasValidLaunchConfig(savedInstanceState)) {
             return;
         }
 
-        getWindow().setSoftInputMode(WindowManager.LayoutParams.SOFT_INPUT_ADJUST_RESIZE);
-        lockBus = new Bus();
-        lockBus.register(this);
+        //Start fetching the Application first, so the request runs while the views are created
         handler = new Handler(getMainLooper());
+        final long fetchStart = LockTrace.beginSection(LockSpan.START_APPLICATION_FETCH);
+        fetchApplication();
+        LockTrace.endSection(LockSpan.START_APPLICATION_FETCH, fetchStart);
+
+        final long viewsStart = LockTrace.beginSection(LockSpan.CREATE_VIEWS);
+        getWindow().setSoftInputMode(WindowManager.LayoutParams.SOFT_INPUT_ADJUST_RESIZE);
+        lockBus = new LockEventBus(eventSubscriber);
         webProvider = new WebProvider(options);
 
         setContentView(R.layout.com_auth0_lock_activity_lock_passwordless);
@@ -148,12 +164,12 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
         } else {
             loginErrorBuilder = new LoginErrorMessageBuilder(R.string.com_auth0_lock_passwordless_link_request_error_message, R.string.com_auth0_lock_passwordless_login_error_invalid_credentials_message);
         }
-        lockBus.post(new FetchApplicationEvent());
+        LockTrace.endSection(LockSpan.CREATE_VIEWS, viewsStart);
     }
 
-    private boolean hasValidLaunchConfig() {
+    private boolean hasValidLaunchConfig(@Nullable Bundle savedInstanceState) {
         String errorDescription = null;
-        if (!hasValidOptions()) {
+        if (!hasValidOptions(savedInstanceState)) {
             errorDescription = "Configuration is not valid and the Activity will finish.";
         }
         if (!hasValidTheme()) {
@@ -162,9 +178,7 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
         if (errorDescription == null) {
             return true;
         }
-        Intent intent = new Intent(Constants.INVALID_CONFIGURATION_ACTION);
-        intent.putExtra(Constants.ERROR_EXTRA, errorDescription);
-        LocalBroadcastManager.getInstance(this).sendBroadcast(intent);
+        LockResultDispatcher.deliverInvalidConfiguration(this, optionsToken, errorDescription);
         finish();
         return false;
     }
@@ -176,11 +190,20 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
         return validTheme;
     }
 
-    private boolean hasValidOptions() {
-        options = getIntent().getParcelableExtra(Constants.OPTIONS_EXTRA);
+    private boolean hasValidOptions(@Nullable Bundle savedInstanceState) {
+        options = OptionsRegistry.get(optionsToken);
+        if (options == null && savedInstanceState != null) {
+            //The process was restarted and the Lock instance is gone. Use the copy saved by this Activity.
+            options = savedInstanceState.getParcelable(Constants.OPTIONS_EXTRA);
+        }
         if (options == null) {
-            Log.e(TAG, "Lock Options are missing in the received Intent and PasswordlessLockActivity will not launch. " +
-                    "Use the PasswordlessLock.Builder to generate a valid Intent.");
+            if (optionsToken == null) {
+                Log.e(TAG, "The Lock Options token is missing in the received Intent and PasswordlessLockActivity will not launch. " +
+                        "Use the PasswordlessLock.newIntent method to generate a valid Intent.");
+            } else {
+                Log.e(TAG, "The Lock Options referenced by the received Intent are no longer available in this process and PasswordlessLockActivity will not launch. " +
+                        "Create a new Intent with PasswordlessLock.newIntent for each launch.");
+            }
             return false;
         }
 
@@ -201,6 +224,14 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
         return true;
     }
 
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        if (options != null) {
+            outState.putParcelable(Constants.OPTIONS_EXTRA, options);
+        }
+    }
+
     @Override
     public void onBackPressed() {
         boolean showingSuccessLayout = passwordlessSuccessCover.getVisibility() == View.VISIBLE;
@@ -213,20 +244,12 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
         }
 
         Log.v(TAG, "User has just closed the activity.");
-        Intent intent = new Intent(Constants.CANCELED_ACTION);
-        LocalBroadcastManager.getInstance(PasswordlessLockActivity.this).sendBroadcast(intent);
+        LockResultDispatcher.deliverCanceled(this, optionsToken);
         super.onBackPressed();
     }
 
     private void deliverAuthenticationResult(Credentials credentials) {
-        Intent intent = new Intent(Constants.AUTHENTICATION_ACTION);
-        intent.putExtra(Constants.ID_TOKEN_EXTRA, credentials.getIdToken());
-        intent.putExtra(Constants.ACCESS_TOKEN_EXTRA, credentials.getAccessToken());
-        intent.putExtra(Constants.REFRESH_TOKEN_EXTRA, credentials.getRefreshToken());
-        intent.putExtra(Constants.TOKEN_TYPE_EXTRA, credentials.getType());
-        intent.putExtra(Constants.EXPIRES_IN_EXTRA, credentials.getExpiresIn());
-
-        LocalBroadcastManager.getInstance(this).sendBroadcast(intent);
+        LockResultDispatcher.deliverAuthentication(this, optionsToken, credentials);
         finish();
     }
 
@@ -289,6 +312,26 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
         }
     };
 
+    /**
+     * Reads the stored identity in the background and reloads it once loaded. Must be called on the main thread.
+     */
+    private void preloadRecentPasswordlessData() {
+        identityLoad = identityHelper.preload(new Runnable() {
+            @Override
+            public void run() {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (isFinishing() || destroyed) {
+                            return;
+                        }
+                        reloadRecentPasswordlessData(true);
+                    }
+                });
+            }
+        });
+    }
+
     private void reloadRecentPasswordlessData(boolean submitForm) {
         if (!configuration.usePasswordlessAutoSubmit() || !identityHelper.hasLoggedInBefore()) {
             return;
@@ -301,6 +344,26 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        destroyed = true;
+        if (identityLoad != null) {
+            identityLoad.cancel(false);
+            identityLoad = null;
+        }
+        if (applicationFetcher != null) {
+            applicationFetcher.cancel(applicationCallback);
+            applicationFetcher = null;
+        }
+        if (isFinishing()) {
+            OptionsRegistry.releaseLaunch(optionsToken);
+            if (metrics != null) {
+                LockTrace.clearMetrics(metrics);
+            }
+        }
+        super.onDestroy();
+    }
+
     @Override
     protected void onActivityResult(int requestCode, int resultCode, Intent data) {
         switch (requestCode) {
@@ -372,24 +435,26 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
         }
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe
     public void onFetchApplicationRequest(FetchApplicationEvent event) {
+        fetchApplication();
+    }
+
+    /**
+     * Starts fetching the Application, unless it's already being fetched. A fetch started by the Lock
+     * instance before launching this Activity is awaited instead of making a new request.
+     */
+    private void fetchApplication() {
         if (applicationFetcher == null) {
-            applicationFetcher = new ApplicationFetcher(options.getAccount(), new OkHttpClient());
+            applicationFetcher = new ApplicationFetcher(options.getAccount(), HttpClientResolver.getHttpClient(), ApplicationMemoryCache.getInstance(), new ApplicationDiskCache(getCacheDir()));
             applicationFetcher.fetch(applicationCallback);
         }
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe
     public void onCountryCodeChangeRequest(CountryCodeChangeEvent event) {
         Intent intent = new Intent(this, CountryCodeActivity.class);
         startActivityForResult(intent, COUNTRY_CODE_REQUEST_CODE);
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe
     public void onPasswordlessAuthenticationRequest(PasswordlessLoginEvent event) {
         if (configuration.getPasswordlessConnection() == null) {
             Log.w(TAG, "There is no default Passwordless strategy to authenticate with");
@@ -406,18 +471,16 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
             if (options.getScope() != null) {
                 request.setScope(options.getScope());
             }
-            request.start(authCallback);
+            request.start(LockTrace.traceRequest(authCallback));
             return;
         }
 
         lastPasswordlessIdentity = event.getEmailOrNumber();
         lastPasswordlessCountry = event.getCountry();
         event.getCodeRequest(apiClient, connectionName)
-                .start(passwordlessCodeCallback);
+                .start(LockTrace.traceRequest(passwordlessCodeCallback));
     }
 
-    @SuppressWarnings("unused")
-    @Subscribe
     public void onOAuthAuthenticationRequest(OAuthLoginEvent event) {
         lastPasswordlessIdentity = null;
         lastPasswordlessCountry = null;
@@ -447,16 +510,40 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
     }
 
     //Callbacks
+    private LockEventBus.Subscriber eventSubscriber = new LockEventBus.SimpleSubscriber() {
+        @Override
+        public void onFetchApplicationRequest(@NonNull FetchApplicationEvent event) {
+            PasswordlessLockActivity.this.onFetchApplicationRequest(event);
+        }
+
+        @Override
+        public void onCountryCodeChangeRequest(@NonNull CountryCodeChangeEvent event) {
+            PasswordlessLockActivity.this.onCountryCodeChangeRequest(event);
+        }
+
+        @Override
+        public void onPasswordlessAuthenticationRequest(@NonNull PasswordlessLoginEvent event) {
+            PasswordlessLockActivity.this.onPasswordlessAuthenticationRequest(event);
+        }
+
+        @Override
+        public void onOAuthAuthenticationRequest(@NonNull OAuthLoginEvent event) {
+            PasswordlessLockActivity.this.onOAuthAuthenticationRequest(event);
+        }
+    };
+
     private com.auth0.android.callback.AuthenticationCallback<List<Connection>> applicationCallback = new com.auth0.android.callback.AuthenticationCallback<List<Connection>>() {
         @Override
         public void onSuccess(final List<Connection> connections) {
             configuration = new Configuration(connections, options);
-            identityHelper = new PasswordlessIdentityHelper(PasswordlessLockActivity.this, configuration.getPasswordlessMode());
             handler.post(new Runnable() {
                 @Override
                 public void run() {
+                    identityHelper = new PasswordlessIdentityHelper(PasswordlessLockActivity.this, configuration.getPasswordlessMode());
                     lockView.configure(configuration);
-                    reloadRecentPasswordlessData(true);
+                    if (configuration.usePasswordlessAutoSubmit() && !isFinishing() && !destroyed) {
+                        preloadRecentPasswordlessData();
+                    }
                 }
             });
             applicationFetcher = null;
@@ -505,12 +592,17 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
 
     private com.auth0.android.callback.AuthenticationCallback<Credentials> authCallback = new com.auth0.android.callback.AuthenticationCallback<Credentials>() {
         @Override
-        public void onSuccess(Credentials credentials) {
+        public void onSuccess(final Credentials credentials) {
             if (configuration.usePasswordlessAutoSubmit()) {
                 Log.d(TAG, "Saving passwordless identity for a future log in request.");
                 identityHelper.saveIdentity(lastPasswordlessIdentity, lastPasswordlessCountry);
             }
-            deliverAuthenticationResult(credentials);
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    deliverAuthenticationResult(credentials);
+                }
+            });
         }
 
         @Override
@@ -553,7 +645,12 @@ public class PasswordlessLockActivity extends AppCompatActivity implements Activ
 
         @Override
         public void onSuccess(@NonNull final Credentials credentials) {
-            deliverAuthenticationResult(credentials);
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    deliverAuthenticationResult(credentials);
+                }
+            });
         }
     };
 }
@@ -36,6 +36,7 @@ import com.auth0.android.lock.R;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 public class CountryAdapter extends BaseAdapter {
 
@@ -86,6 +87,8 @@ public class CountryAdapter extends BaseAdapter {
     private class CountryFilter extends Filter {
 
         private final List<Country> countries;
+        private CountrySearchIndex index;
+        private CountrySearchIndex.Result lastResult;
 
         private CountryFilter(List<Country> countries) {
             this.countries = countries;
@@ -93,14 +96,15 @@ public class CountryAdapter extends BaseAdapter {
 
         @Override
         protected FilterResults performFiltering(CharSequence constraint) {
-            String filter = constraint.toString().toLowerCase();
-            FilterResults results = new FilterResults();
-            List<Country> filtered = new ArrayList<>(countries.size());
-            for (Country country : countries) {
-                if (country.getDisplayName().toLowerCase().contains(filter) || country.getIsoCode().toLowerCase().contains(filter)) {
-                    filtered.add(country);
-                }
+            //Filtering runs sequentially on a single background thread, so the index and last result don't need locking
+            final Locale locale = Locale.getDefault();
+            if (index == null || !index.isFor(locale)) {
+                index = new CountrySearchIndex(countries, locale);
+                lastResult = null;
             }
+            lastResult = index.search(constraint != null ? constraint : "", lastResult);
+            final List<Country> filtered = lastResult.getCountries();
+            FilterResults results = new FilterResults();
             results.values = filtered;
             results.count = filtered.size();
             return results;
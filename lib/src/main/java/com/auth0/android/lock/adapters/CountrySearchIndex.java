@@ -0,0 +1,185 @@
+/*
+ * CountrySearchIndex.java
+ *
+ * Copyright (c) 2015 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.adapters;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Searchable copy of a list of countries for a given locale. Display names are resolved, lowercased and
+ * stripped of accents once, when the index is built, so each search only compares prepared strings.
+ * Countries are matched by display name, ISO code or dial code (e.g. "+44") and ranked so that the ones
+ * starting with the query come first.
+ */
+class CountrySearchIndex {
+
+    private static final Pattern DIACRITICAL_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final Pattern DIAL_CODE_QUERY = Pattern.compile("\\+?[0-9 ]*");
+
+    private static final int RANK_PREFIX = 0;
+    private static final int RANK_WORD_PREFIX = 1;
+    private static final int RANK_CONTAINS = 2;
+    private static final int NO_MATCH = -1;
+
+    private final Locale locale;
+    private final List<Country> countries;
+    private final String[] names;
+    private final String[] isoCodes;
+    private final String[] dialCodes;
+
+    CountrySearchIndex(@NonNull List<Country> countries, @NonNull Locale locale) {
+        this.locale = locale;
+        this.countries = new ArrayList<>(countries);
+        final int size = countries.size();
+        names = new String[size];
+        isoCodes = new String[size];
+        dialCodes = new String[size];
+        for (int i = 0; i < size; i++) {
+            final Country country = countries.get(i);
+            names[i] = fold(new Locale("", country.getIsoCode()).getDisplayCountry(locale), locale);
+            isoCodes[i] = country.getIsoCode().toLowerCase(Locale.ROOT);
+            dialCodes[i] = digitsOf(country.getDialCode());
+        }
+    }
+
+    /**
+     * Whether this index was built for the given locale, meaning its display names are still valid.
+     */
+    boolean isFor(@NonNull Locale locale) {
+        return this.locale.equals(locale);
+    }
+
+    /**
+     * Searches the countries that match the given query. When the previous result was obtained with a query
+     * that is a prefix of this one, only the countries that matched it are looked at again.
+     *
+     * @param query    the text to search for.
+     * @param previous the result of the previous search, or null to search every country.
+     * @return the result of the search.
+     */
+    @NonNull
+    Result search(@NonNull CharSequence query, @Nullable Result previous) {
+        final String folded = fold(query.toString(), locale);
+        if (folded.isEmpty()) {
+            final int[] all = new int[countries.size()];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return new Result(folded, all, countries);
+        }
+        final String dialCode = DIAL_CODE_QUERY.matcher(folded).matches() ? digitsOf(folded) : null;
+        final boolean narrow = previous != null && folded.startsWith(previous.query);
+        final int candidates = narrow ? previous.matches.length : countries.size();
+
+        final int[] matches = new int[candidates];
+        final int[] ranks = new int[candidates];
+        int count = 0;
+        for (int c = 0; c < candidates; c++) {
+            final int i = narrow ? previous.matches[c] : c;
+            final int rank = rank(i, folded, dialCode);
+            if (rank != NO_MATCH) {
+                matches[count] = i;
+                ranks[count] = rank;
+                count++;
+            }
+        }
+
+        final int[] result = new int[count];
+        System.arraycopy(matches, 0, result, 0, count);
+        final List<Country> ranked = new ArrayList<>(count);
+        for (int rank = RANK_PREFIX; rank <= RANK_CONTAINS; rank++) {
+            for (int m = 0; m < count; m++) {
+                if (ranks[m] == rank) {
+                    ranked.add(countries.get(matches[m]));
+                }
+            }
+        }
+        return new Result(folded, result, ranked);
+    }
+
+    private int rank(int i, String query, @Nullable String dialCode) {
+        final String name = names[i];
+        if (name.startsWith(query) || isoCodes[i].equals(query) || dialCode != null && dialCodes[i].startsWith(dialCode)) {
+            return RANK_PREFIX;
+        }
+        final int index = name.indexOf(query);
+        if (index > 0 && !Character.isLetterOrDigit(name.charAt(index - 1))) {
+            return RANK_WORD_PREFIX;
+        }
+        if (index > 0 || isoCodes[i].contains(query)) {
+            return RANK_CONTAINS;
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * Lowercases the text and removes its accents, so that accented names can be found
+     * by typing them without accents.
+     */
+    static String fold(@NonNull String text, @NonNull Locale locale) {
+        final String decomposed = Normalizer.normalize(text.toLowerCase(locale), Normalizer.Form.NFD);
+        return DIACRITICAL_MARKS.matcher(decomposed).replaceAll("");
+    }
+
+    private static String digitsOf(@NonNull String text) {
+        final StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * The countries that matched a query, ranked.
+     */
+    static class Result {
+        private final String query;
+        private final int[] matches;
+        private final List<Country> countries;
+
+        private Result(String query, int[] matches, List<Country> countries) {
+            this.query = query;
+            this.matches = matches;
+            this.countries = countries;
+        }
+
+        /**
+         * Getter for the matching countries, the ones starting with the query first.
+         */
+        @NonNull
+        List<Country> getCountries() {
+            return countries;
+        }
+    }
+}
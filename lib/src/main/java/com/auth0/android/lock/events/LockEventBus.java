@@ -0,0 +1,136 @@
+/*
+ * LockEventBus.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.events;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+/**
+ * Delivers the events posted by the Lock widgets to the Activity hosting them. Lock has a closed set
+ * of events, so each one is routed straight to its typed method of the {@link Subscriber}, without
+ * looking up the receiving methods by reflection. Events must be posted from the main thread.
+ */
+public final class LockEventBus {
+
+    private static final String TAG = LockEventBus.class.getSimpleName();
+
+    private final Subscriber subscriber;
+
+    /**
+     * Creates a new bus that delivers every event to the given subscriber.
+     *
+     * @param subscriber the one receiving the events.
+     */
+    public LockEventBus(@NonNull Subscriber subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    /**
+     * Delivers the event to the subscriber. Events that are not part of Lock's set of events are ignored.
+     *
+     * @param event the event to deliver.
+     */
+    public void post(@NonNull Object event) {
+        if (event instanceof FetchApplicationEvent) {
+            subscriber.onFetchApplicationRequest((FetchApplicationEvent) event);
+        } else if (event instanceof DatabaseLoginEvent) {
+            subscriber.onDatabaseAuthenticationRequest((DatabaseLoginEvent) event);
+        } else if (event instanceof DatabaseSignUpEvent) {
+            subscriber.onDatabaseAuthenticationRequest((DatabaseSignUpEvent) event);
+        } else if (event instanceof DatabaseChangePasswordEvent) {
+            subscriber.onDatabaseAuthenticationRequest((DatabaseChangePasswordEvent) event);
+        } else if (event instanceof OAuthLoginEvent) {
+            subscriber.onOAuthAuthenticationRequest((OAuthLoginEvent) event);
+        } else if (event instanceof PasswordlessLoginEvent) {
+            subscriber.onPasswordlessAuthenticationRequest((PasswordlessLoginEvent) event);
+        } else if (event instanceof CountryCodeChangeEvent) {
+            subscriber.onCountryCodeChangeRequest((CountryCodeChangeEvent) event);
+        } else if (event instanceof LockMessageEvent) {
+            subscriber.onLockMessage((LockMessageEvent) event);
+        } else {
+            Log.w(TAG, "Ignoring an unknown event of type " + event.getClass().getName());
+        }
+    }
+
+    /**
+     * Receives the events posted to a {@link LockEventBus}.
+     */
+    public interface Subscriber {
+
+        void onFetchApplicationRequest(@NonNull FetchApplicationEvent event);
+
+        void onDatabaseAuthenticationRequest(@NonNull DatabaseLoginEvent event);
+
+        void onDatabaseAuthenticationRequest(@NonNull DatabaseSignUpEvent event);
+
+        void onDatabaseAuthenticationRequest(@NonNull DatabaseChangePasswordEvent event);
+
+        void onOAuthAuthenticationRequest(@NonNull OAuthLoginEvent event);
+
+        void onPasswordlessAuthenticationRequest(@NonNull PasswordlessLoginEvent event);
+
+        void onCountryCodeChangeRequest(@NonNull CountryCodeChangeEvent event);
+
+        void onLockMessage(@NonNull LockMessageEvent event);
+    }
+
+    /**
+     * A {@link Subscriber} that ignores every event. Extend it to receive only the events you're interested in.
+     */
+    public static class SimpleSubscriber implements Subscriber {
+
+        @Override
+        public void onFetchApplicationRequest(@NonNull FetchApplicationEvent event) {
+        }
+
+        @Override
+        public void onDatabaseAuthenticationRequest(@NonNull DatabaseLoginEvent event) {
+        }
+
+        @Override
+        public void onDatabaseAuthenticationRequest(@NonNull DatabaseSignUpEvent event) {
+        }
+
+        @Override
+        public void onDatabaseAuthenticationRequest(@NonNull DatabaseChangePasswordEvent event) {
+        }
+
+        @Override
+        public void onOAuthAuthenticationRequest(@NonNull OAuthLoginEvent event) {
+        }
+
+        @Override
+        public void onPasswordlessAuthenticationRequest(@NonNull PasswordlessLoginEvent event) {
+        }
+
+        @Override
+        public void onCountryCodeChangeRequest(@NonNull CountryCodeChangeEvent event) {
+        }
+
+        @Override
+        public void onLockMessage(@NonNull LockMessageEvent event) {
+        }
+    }
+}
@@ -24,60 +24,206 @@
 
 package com.auth0.android.lock.internal.configuration;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
 import com.google.gson.internal.LinkedTreeMap;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.internal.bind.JsonTreeReader;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-class ApplicationDeserializer extends GsonDeserializer<List<Connection>> {
+/**
+ * Reads the Application JSON in a single pass, creating the Connections of every strategy
+ * as they are found without building an intermediate json tree. The Application is only read,
+ * so this is registered in Gson as a deserializer. The fetched payload is streamed straight
+ * into {@link #read(JsonReader)} instead.
+ */
+class ApplicationDeserializer implements JsonDeserializer<List<Connection>> {
 
     @Override
     public List<Connection> deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-        assertJsonObject(json);
+        try {
+            return read(new JsonTreeReader(json));
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    /**
+     * Reads the Application from the given reader.
+     *
+     * @param in the reader positioned at the Application json object.
+     * @return the Connections of every strategy of the Application.
+     * @throws IOException        if the json can't be read.
+     * @throws JsonParseException if the json is not a valid Application.
+     */
+    List<Connection> read(JsonReader in) throws IOException {
+        try {
+            return readApplication(in);
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
 
-        final JsonObject object = json.getAsJsonObject();
+    private List<Connection> readApplication(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new JsonParseException("Received json is not a valid json object.");
+        }
 
-        requiredValue("id", String.class, object, context);
-        requiredValue("tenant", String.class, object, context);
-        requiredValue("authorize", String.class, object, context);
-        requiredValue("callback", String.class, object, context);
+        String id = null;
+        String tenant = null;
+        String authorize = null;
+        String callback = null;
+        List<Connection> connections = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    id = readString(in);
+                    break;
+                case "tenant":
+                    tenant = readString(in);
+                    break;
+                case "authorize":
+                    authorize = readString(in);
+                    break;
+                case "callback":
+                    callback = readString(in);
+                    break;
+                case "strategies":
+                    connections = readStrategies(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
 
-        requiredValue("strategies", JsonArray.class, object, context);
-        final JsonArray strategies = object.getAsJsonArray("strategies");
-        return mergeConnections(strategies, context);
+        requiredValue("id", id);
+        requiredValue("tenant", tenant);
+        requiredValue("authorize", authorize);
+        requiredValue("callback", callback);
+        requiredValue("strategies", connections);
+        return connections;
     }
 
-    private List<Connection> mergeConnections(JsonArray list, JsonDeserializationContext context) {
+    private List<Connection> readStrategies(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
         List<Connection> connections = new ArrayList<>();
-        for (JsonElement strategy : list) {
-            final List<Connection> c = parseStrategy(strategy, context);
-            connections.addAll(c);
+        in.beginArray();
+        while (in.hasNext()) {
+            readStrategy(in, connections);
         }
+        in.endArray();
         return connections;
     }
 
-    private List<Connection> parseStrategy(JsonElement json, JsonDeserializationContext context) {
-        final JsonObject strategy = json.getAsJsonObject();
-        String name = requiredValue("name", String.class, strategy, context);
-        requiredValue("connections", Object.class, strategy, context);
+    private void readStrategy(JsonReader in, List<Connection> connections) throws IOException {
+        String name = null;
+        List<Map<String, Object>> connectionsValues = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    name = readString(in);
+                    break;
+                case "connections":
+                    connectionsValues = readConnections(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
 
-        JsonArray connectionsArray = strategy.getAsJsonArray("connections");
-        List<Connection> connections = new ArrayList<>();
-        for (int i = 0; i < connectionsArray.size(); i++) {
-            final JsonObject connectionJson = connectionsArray.get(i).getAsJsonObject();
-            requiredValue("name", String.class, connectionJson, context);
-            Type mapType = new TypeToken<LinkedTreeMap<String, Object>>() {}.getType();
-            Map<String, Object> values = context.deserialize(connectionJson, mapType);
+        requiredValue("name", name);
+        requiredValue("connections", connectionsValues);
+        for (Map<String, Object> values : connectionsValues) {
             connections.add(Connection.newConnectionFor(name, values));
         }
-        return connections;
+    }
+
+    private List<Map<String, Object>> readConnections(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<Map<String, Object>> connectionsValues = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            final Map<String, Object> values = readObject(in);
+            requiredValue("name", values.get("name"));
+            connectionsValues.add(values);
+        }
+        in.endArray();
+        return connectionsValues;
+    }
+
+    private Map<String, Object> readObject(JsonReader in) throws IOException {
+        Map<String, Object> values = new LinkedTreeMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            values.put(in.nextName(), readValue(in));
+        }
+        in.endObject();
+        return values;
+    }
+
+    /**
+     * Reads any json value into the same types Gson uses for Object: maps, lists, strings, doubles and booleans.
+     */
+    private Object readValue(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_OBJECT:
+                return readObject(in);
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                in.beginArray();
+                while (in.hasNext()) {
+                    list.add(readValue(in));
+                }
+                in.endArray();
+                return list;
+            case STRING:
+                return in.nextString();
+            case NUMBER:
+                return in.nextDouble();
+            case BOOLEAN:
+                return in.nextBoolean();
+            case NULL:
+                in.nextNull();
+                return null;
+            default:
+                throw new IllegalStateException("Unexpected token " + in.peek());
+        }
+    }
+
+    private String readString(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL:
+                in.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(in.nextBoolean());
+            default:
+                return in.nextString();
+        }
+    }
+
+    private void requiredValue(String name, Object value) throws JsonParseException {
+        if (value == null) {
+            throw new JsonParseException(String.format("Missing required attribute %s", name));
+        }
     }
 }
@@ -0,0 +1,196 @@
+/*
+ * ApplicationDiskCache.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.internal.configuration;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Keeps the last Application JSONP received from the CDN on disk, together with the validators
+ * (ETag and Last-Modified) needed to revalidate it. Reads and writes do I/O and must not be
+ * called from the main thread.
+ */
+public class ApplicationDiskCache {
+
+    private static final String TAG = ApplicationDiskCache.class.getSimpleName();
+    private static final String FILE_PREFIX = "com_auth0_lock_application_";
+    private static final int FORMAT_VERSION = 1;
+
+    private final File directory;
+
+    /**
+     * Creates a new cache that stores its entries in the given directory.
+     *
+     * @param directory where the entries are stored. Usually the application's cache directory.
+     */
+    public ApplicationDiskCache(@NonNull File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Reads the entry stored for the given key.
+     *
+     * @param key the key that identifies the Application.
+     * @return the stored entry or null if there is none or it could not be read.
+     */
+    @Nullable
+    Entry read(@NonNull String key) {
+        final File file = fileFor(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+                Log.d(TAG, "Ignoring a cached Application stored with a different format or key");
+                return null;
+            }
+            final String eTag = readNullableString(in);
+            final String lastModified = readNullableString(in);
+            final byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            return new Entry(payload, eTag, lastModified);
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Could not read the cached Application: " + e.getMessage());
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+            return null;
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    /**
+     * Stores the entry for the given key, replacing any previous one. The entry is written to a temporary
+     * file first so that a concurrent or interrupted write never leaves a truncated entry behind.
+     *
+     * @param key   the key that identifies the Application.
+     * @param entry the entry to store.
+     */
+    void write(@NonNull String key, @NonNull Entry entry) {
+        final File file = fileFor(key);
+        final File tmpFile = new File(directory, file.getName() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(key);
+            writeNullableString(out, entry.getETag());
+            writeNullableString(out, entry.getLastModified());
+            out.writeInt(entry.getPayload().length);
+            out.write(entry.getPayload());
+            out.close();
+            out = null;
+            if (!tmpFile.renameTo(file)) {
+                throw new IOException("Could not rename " + tmpFile.getName());
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Could not store the Application in the cache: " + e.getMessage());
+            //noinspection ResultOfMethodCallIgnored
+            tmpFile.delete();
+        } finally {
+            closeQuietly(out);
+        }
+    }
+
+    /**
+     * Removes the entry stored for the given key, if any.
+     *
+     * @param key the key that identifies the Application.
+     */
+    void remove(@NonNull String key) {
+        //noinspection ResultOfMethodCallIgnored
+        fileFor(key).delete();
+    }
+
+    private File fileFor(String key) {
+        return new File(directory, FILE_PREFIX + Integer.toHexString(key.hashCode()));
+    }
+
+    @Nullable
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableString(DataOutputStream out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static void closeQuietly(@Nullable Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * A stored Application JSONP and the validators the server sent along with it.
+     */
+    static class Entry {
+
+        private final byte[] payload;
+        private final String eTag;
+        private final String lastModified;
+
+        Entry(@NonNull byte[] payload, @Nullable String eTag, @Nullable String lastModified) {
+            this.payload = payload;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        @NonNull
+        byte[] getPayload() {
+            return payload;
+        }
+
+        @Nullable
+        String getETag() {
+            return eTag;
+        }
+
+        @Nullable
+        String getLastModified() {
+            return lastModified;
+        }
+    }
+}
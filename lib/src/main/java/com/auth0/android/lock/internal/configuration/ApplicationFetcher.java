@@ -26,35 +26,58 @@ package com.auth0.android.lock.internal.configuration;
 
 import android.net.Uri;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.util.Log;
 
 import com.auth0.android.Auth0;
 import com.auth0.android.Auth0Exception;
 import com.auth0.android.authentication.AuthenticationException;
 import com.auth0.android.callback.AuthenticationCallback;
+import com.auth0.android.lock.LockMetrics.LockSpan;
+import com.auth0.android.lock.internal.network.HttpClientResolver;
+import com.auth0.android.lock.internal.threading.LockExecutor;
+import com.auth0.android.lock.internal.tracing.LockTrace;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.squareup.okhttp.Callback;
 import com.squareup.okhttp.OkHttpClient;
 import com.squareup.okhttp.Request;
 import com.squareup.okhttp.Response;
 
 import org.json.JSONException;
-import org.json.JSONObject;
-import org.json.JSONTokener;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.net.HttpURLConnection;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 public class ApplicationFetcher {
 
     private static final String JSONP_PREFIX = "Auth0.setClient(";
+    private static final byte[] JSONP_PREFIX_BYTES = JSONP_PREFIX.getBytes(Charset.forName("US-ASCII"));
     private static final String TAG = ApplicationFetcher.class.getSimpleName();
+    private static final String CHARSET_UTF8 = "UTF-8";
+    private static final ApplicationDeserializer APPLICATION_DESERIALIZER = new ApplicationDeserializer();
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_LAST_MODIFIED = "Last-Modified";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
 
     private final Auth0 account;
     private final OkHttpClient client;
+    private final ApplicationMemoryCache memoryCache;
+    private final ApplicationDiskCache cache;
 
     /**
      * Helper class to fetch the Application from Auth0 Dashboard.
@@ -63,8 +86,50 @@ public class ApplicationFetcher {
      * @param client  the OKHttpClient instance to use for the CDN request.
      */
     public ApplicationFetcher(@NonNull Auth0 account, @NonNull OkHttpClient client) {
+        this(account, client, null, null);
+    }
+
+    /**
+     * Helper class to fetch the Application from Auth0 Dashboard. A non expired Application found in the
+     * memory cache is delivered without making any request. Otherwise, when a disk cache is given, the last
+     * received Application is delivered right away and then revalidated against the CDN. If the CDN returns
+     * a different Application it's only stored in the caches, so it's used from the next fetch on without
+     * rebuilding the widget the user is already interacting with.
+     *
+     * @param account     the client information to build the request uri.
+     * @param client      the OKHttpClient instance to use for the CDN request.
+     * @param memoryCache where the parsed Application is kept for this process, or null to skip it.
+     * @param cache       where the last received Application is stored, or null to always wait for the CDN.
+     */
+    public ApplicationFetcher(@NonNull Auth0 account, @NonNull OkHttpClient client, @Nullable ApplicationMemoryCache memoryCache, @Nullable ApplicationDiskCache cache) {
         this.account = account;
         this.client = client;
+        this.memoryCache = memoryCache;
+        this.cache = cache;
+    }
+
+    /**
+     * Starts fetching the Application of the given account in the background, keeping the result in the
+     * shared memory cache and in the disk cache. A Lock activity started later will use the result, or wait
+     * for the fetch in progress, instead of making a new request.
+     *
+     * @param account  the client information to build the request uri.
+     * @param cacheDir the directory of the disk cache, usually the Context's cache dir.
+     */
+    public static void prefetch(@NonNull Auth0 account, @NonNull File cacheDir) {
+        Log.v(TAG, "Prefetching the Application");
+        final ApplicationFetcher fetcher = new ApplicationFetcher(account, HttpClientResolver.getHttpClient(), ApplicationMemoryCache.getInstance(), new ApplicationDiskCache(cacheDir));
+        fetcher.fetch(new AuthenticationCallback<List<Connection>>() {
+            @Override
+            public void onSuccess(List<Connection> connections) {
+                Log.v(TAG, "The Application was prefetched");
+            }
+
+            @Override
+            public void onFailure(AuthenticationException error) {
+                Log.w(TAG, "Failed to prefetch the Application: " + error.getMessage());
+            }
+        });
     }
 
     /**
@@ -73,74 +138,290 @@ public class ApplicationFetcher {
      * @param callback to notify on success/error
      */
     public void fetch(@NonNull AuthenticationCallback<List<Connection>> callback) {
-        makeApplicationRequest(callback);
+        if (memoryCache != null) {
+            final List<Connection> cachedConnections = memoryCache.get(account);
+            if (cachedConnections != null) {
+                Log.i(TAG, "Application loaded from the memory cache.");
+                callback.onSuccess(cachedConnections);
+                return;
+            }
+            if (!memoryCache.awaitFetch(account, callback)) {
+                Log.d(TAG, "The Application is already being fetched, waiting for the result.");
+                return;
+            }
+            callback = new SharedFetchCallback(memoryCache);
+        }
+        startFetch(callback);
     }
 
-    private void makeApplicationRequest(final AuthenticationCallback<List<Connection>> callback) {
+    /**
+     * Stops notifying the given callback with the result of a fetch that is waiting for the shared one,
+     * so that it's no longer referenced once its owner is gone. The request itself is not cancelled.
+     *
+     * @param callback the callback previously passed to {@link #fetch(AuthenticationCallback)}.
+     */
+    public void cancel(@NonNull AuthenticationCallback<List<Connection>> callback) {
+        if (memoryCache != null) {
+            memoryCache.removePendingCallback(account, callback);
+        }
+    }
+
+    private void startFetch(final AuthenticationCallback<List<Connection>> callback) {
+        if (cache == null) {
+            makeApplicationRequest(null, callback);
+            return;
+        }
+        try {
+            LockExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    ApplicationDiskCache.Entry cached = null;
+                    try {
+                        cached = deliverCachedApplication(callback);
+                        makeApplicationRequest(cached, callback);
+                    } catch (RuntimeException e) {
+                        onFetchFailure(cached, "Failed to fetch the Application", new Auth0Exception(e.getMessage(), e), callback);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            onFetchFailure(null, "Could not schedule the Application fetch", new Auth0Exception(e.getMessage(), e), callback);
+        }
+    }
+
+    /**
+     * Builds the key that identifies the Application of the given account in the caches.
+     */
+    static String cacheKeyFor(@NonNull Auth0 account) {
+        return account.getClientId() + "@" + account.getConfigurationUrl();
+    }
+
+    @Nullable
+    private ApplicationDiskCache.Entry deliverCachedApplication(AuthenticationCallback<List<Connection>> callback) {
+        //noinspection ConstantConditions
+        final ApplicationDiskCache.Entry entry = cache.read(cacheKeyFor(account));
+        if (entry == null) {
+            return null;
+        }
+        final List<Connection> connections;
+        try {
+            connections = parseJSONP(entry.getPayload());
+        } catch (Auth0Exception e) {
+            Log.w(TAG, "Discarding the cached Application: " + e.getMessage());
+            cache.remove(cacheKeyFor(account));
+            return null;
+        }
+        Log.i(TAG, "Application loaded from the cache, revalidating it.");
+        deliver(connections, callback);
+        return entry;
+    }
+
+    private void makeApplicationRequest(@Nullable final ApplicationDiskCache.Entry cached, final AuthenticationCallback<List<Connection>> callback) {
         Uri uri = Uri.parse(account.getConfigurationUrl()).buildUpon().appendPath("client")
                 .appendPath(account.getClientId() + ".js").build();
 
-        Request req = new Request.Builder()
-                .url(uri.toString())
-                .build();
+        Request.Builder builder = new Request.Builder()
+                .url(uri.toString());
+        if (cached != null && cached.getETag() != null) {
+            builder.header(HEADER_IF_NONE_MATCH, cached.getETag());
+        }
+        if (cached != null && cached.getLastModified() != null) {
+            builder.header(HEADER_IF_MODIFIED_SINCE, cached.getLastModified());
+        }
 
-        client.newCall(req).enqueue(new Callback() {
+        final long fetchStart = LockTrace.now();
+        client.newCall(builder.build()).enqueue(new Callback() {
             @Override
             public void onFailure(Request request, final IOException e) {
+                LockTrace.report(LockSpan.FETCH_APPLICATION, fetchStart);
+                if (cached != null) {
+                    Log.w(TAG, "Could not revalidate the cached Application: " + e.getMessage());
+                    return;
+                }
                 Log.e(TAG, "Failed to fetch the Application: " + e.getMessage(), e);
                 Auth0Exception exception = new Auth0Exception("Failed to fetch the Application: " + e.getMessage());
                 callback.onFailure(new AuthenticationException("Failed to fetch the Application", exception));
             }
 
             @Override
-            public void onResponse(Response response) {
-                List<Connection> connections;
+            public void onResponse(final Response response) {
+                LockTrace.report(LockSpan.FETCH_APPLICATION, fetchStart);
+                if (cached != null && response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    Log.d(TAG, "The cached Application is still valid.");
+                    closeQuietly(response);
+                    return;
+                }
+
+                final byte[] payload;
                 try {
-                    connections = parseJSONP(response);
+                    payload = readPayload(response);
                 } catch (Auth0Exception e) {
-                    Log.e(TAG, "Could not parse Application JSONP: " + e.getMessage());
-                    callback.onFailure(new AuthenticationException("Could not parse Application JSONP", e));
+                    onInvalidPayload(cached, e, callback);
                     return;
                 }
-
-                Log.i(TAG, "Application received!");
-                callback.onSuccess(connections);
+                if (cached != null && Arrays.equals(cached.getPayload(), payload)) {
+                    Log.d(TAG, "The cached Application is still valid.");
+                    storeInCache(payload, response);
+                    return;
+                }
+                //Leave the OkHttp dispatcher thread free while the Application is parsed
+                try {
+                    LockExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                parseAndDeliver(cached, payload, response, callback);
+                            } catch (RuntimeException e) {
+                                onFetchFailure(cached, "Failed to process the Application", new Auth0Exception(e.getMessage(), e), callback);
+                            }
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    onFetchFailure(cached, "Could not schedule the Application parsing", new Auth0Exception(e.getMessage(), e), callback);
+                }
             }
         });
     }
 
-    private List<Connection> parseJSONP(Response response) throws Auth0Exception {
+    private void parseAndDeliver(@Nullable ApplicationDiskCache.Entry cached, byte[] payload, Response response, AuthenticationCallback<List<Connection>> callback) {
+        final List<Connection> connections;
         try {
-            String json = response.body().string();
-            final int length = JSONP_PREFIX.length();
-            if (json.length() < length) {
-                throw new JSONException("Invalid App Info JSONP");
+            connections = parseJSONP(payload);
+        } catch (Auth0Exception e) {
+            onInvalidPayload(cached, e, callback);
+            return;
+        }
+
+        storeInCache(payload, response);
+        if (cached != null) {
+            Log.i(TAG, "The Application changed, it will be used on the next fetch.");
+            if (memoryCache != null) {
+                memoryCache.put(account, connections);
             }
-            json = json.substring(length);
-            JSONTokener tokenizer = new JSONTokener(json);
-            if (!tokenizer.more()) {
-                throw tokenizer.syntaxError("Invalid App Info JSONP");
+            return;
+        }
+        Log.i(TAG, "Application received!");
+        deliver(connections, callback);
+    }
+
+    private void onInvalidPayload(@Nullable ApplicationDiskCache.Entry cached, Auth0Exception e, AuthenticationCallback<List<Connection>> callback) {
+        onFetchFailure(cached, "Could not parse Application JSONP", e, callback);
+    }
+
+    /**
+     * Notifies the failure, unless a cached Application was already delivered and only its revalidation failed.
+     */
+    private void onFetchFailure(@Nullable ApplicationDiskCache.Entry cached, String message, Auth0Exception e, AuthenticationCallback<List<Connection>> callback) {
+        if (cached != null) {
+            Log.w(TAG, "Could not revalidate the cached Application: " + e.getMessage());
+            return;
+        }
+        Log.e(TAG, message + ": " + e.getMessage(), e);
+        callback.onFailure(new AuthenticationException(message, e));
+    }
+
+    private void deliver(List<Connection> connections, AuthenticationCallback<List<Connection>> callback) {
+        if (memoryCache != null) {
+            memoryCache.put(account, connections);
+        }
+        callback.onSuccess(connections);
+    }
+
+    private void storeInCache(byte[] payload, Response response) {
+        if (cache == null) {
+            return;
+        }
+        final ApplicationDiskCache.Entry entry = new ApplicationDiskCache.Entry(payload, response.header(HEADER_ETAG), response.header(HEADER_LAST_MODIFIED));
+        cache.write(cacheKeyFor(account), entry);
+    }
+
+    private byte[] readPayload(Response response) throws Auth0Exception {
+        try {
+            return response.body().bytes();
+        } catch (IOException e) {
+            throw new Auth0Exception("Failed to parse response to request", e);
+        }
+    }
+
+    private void closeQuietly(Response response) {
+        try {
+            response.body().close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private List<Connection> parseJSONP(byte[] payload) throws Auth0Exception {
+        final long parseStart = LockTrace.beginSection(LockSpan.PARSE_APPLICATION);
+        try {
+            final int length = JSONP_PREFIX_BYTES.length;
+            if (payload.length <= length || !hasJSONPPrefix(payload)) {
+                throw new JSONException("Invalid App Info JSONP");
             }
-            Object nextValue = tokenizer.nextValue();
-            if (!(nextValue instanceof JSONObject)) {
-                tokenizer.back();
-                throw tokenizer.syntaxError("Invalid JSON value of App Info");
+            final Reader reader = new InputStreamReader(new ByteArrayInputStream(payload, length, payload.length - length), CHARSET_UTF8);
+            final JsonReader jsonReader = new JsonReader(reader);
+            jsonReader.setLenient(true);
+            final List<Connection> connections = jsonReader.peek() == JsonToken.NULL ? null : APPLICATION_DESERIALIZER.read(jsonReader);
+            if (connections == null) {
+                throw new JSONException("Invalid App Info JSONP");
             }
-            JSONObject jsonObject = (JSONObject) nextValue;
-            Type applicationType = new TypeToken<List<Connection>>() {
-            }.getType();
-            return createGson().fromJson(jsonObject.toString(), applicationType);
-        } catch (IOException | JSONException e) {
+            return connections;
+        } catch (IOException | JSONException | JsonParseException e) {
             throw new Auth0Exception("Failed to parse response to request", e);
+        } finally {
+            LockTrace.endSection(LockSpan.PARSE_APPLICATION, parseStart);
         }
     }
 
+    private static boolean hasJSONPPrefix(byte[] payload) {
+        for (int i = 0; i < JSONP_PREFIX_BYTES.length; i++) {
+            if (payload[i] != JSONP_PREFIX_BYTES[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     static Gson createGson() {
         Type applicationType = new TypeToken<List<Connection>>() {
         }.getType();
         return new GsonBuilder()
                 .excludeFieldsWithoutExposeAnnotation()
-                .registerTypeAdapter(applicationType, new ApplicationDeserializer())
+                .registerTypeAdapter(applicationType, APPLICATION_DESERIALIZER)
                 .create();
     }
+
+    /**
+     * Notifies every callback that was waiting for this fetch. The callbacks are taken from the memory cache
+     * on the first notification, so later fetches don't wait for this one anymore.
+     */
+    private class SharedFetchCallback implements AuthenticationCallback<List<Connection>> {
+
+        private final ApplicationMemoryCache memoryCache;
+        private List<AuthenticationCallback<List<Connection>>> callbacks;
+
+        SharedFetchCallback(@NonNull ApplicationMemoryCache memoryCache) {
+            this.memoryCache = memoryCache;
+        }
+
+        private synchronized List<AuthenticationCallback<List<Connection>>> getCallbacks() {
+            if (callbacks == null) {
+                callbacks = memoryCache.takePendingCallbacks(account);
+            }
+            return callbacks;
+        }
+
+        @Override
+        public void onSuccess(List<Connection> connections) {
+            for (AuthenticationCallback<List<Connection>> callback : getCallbacks()) {
+                callback.onSuccess(connections);
+            }
+        }
+
+        @Override
+        public void onFailure(AuthenticationException error) {
+            for (AuthenticationCallback<List<Connection>> callback : getCallbacks()) {
+                callback.onFailure(error);
+            }
+        }
+    }
 }
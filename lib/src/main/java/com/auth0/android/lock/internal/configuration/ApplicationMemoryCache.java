@@ -0,0 +1,180 @@
+/*
+ * ApplicationMemoryCache.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.internal.configuration;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import com.auth0.android.Auth0;
+import com.auth0.android.callback.AuthenticationCallback;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the parsed Application connections in memory for the lifetime of the process, so that
+ * launching Lock again shortly after doesn't need to fetch or parse the Application again.
+ * Entries expire after a fixed time to live. It also keeps track of the fetches in progress, so that
+ * a second fetch of the same Application waits for the first one instead of making another request.
+ */
+public class ApplicationMemoryCache {
+
+    static final long DEFAULT_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(5);
+
+    private static ApplicationMemoryCache instance;
+
+    private final long timeToLive;
+    private final Map<String, Entry> entries;
+    private final Map<String, List<AuthenticationCallback<List<Connection>>>> pendingCallbacks;
+
+    @VisibleForTesting
+    ApplicationMemoryCache(long timeToLive) {
+        this.timeToLive = timeToLive;
+        this.entries = new HashMap<>();
+        this.pendingCallbacks = new HashMap<>();
+    }
+
+    /**
+     * Getter for the cache shared by every Lock instance of this process.
+     *
+     * @return the shared cache instance.
+     */
+    @NonNull
+    public static synchronized ApplicationMemoryCache getInstance() {
+        if (instance == null) {
+            instance = new ApplicationMemoryCache(DEFAULT_TIME_TO_LIVE);
+        }
+        return instance;
+    }
+
+    /**
+     * Getter for the connections stored for the given account.
+     *
+     * @param account the account the Application belongs to.
+     * @return the stored connections or null if there are none or they have expired.
+     */
+    @Nullable
+    synchronized List<Connection> get(@NonNull Auth0 account) {
+        final String key = ApplicationFetcher.cacheKeyFor(account);
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (SystemClock.elapsedRealtime() - entry.storedAt >= timeToLive) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.connections;
+    }
+
+    /**
+     * Stores the connections of the given account, replacing any previous ones.
+     *
+     * @param account     the account the Application belongs to.
+     * @param connections the parsed connections.
+     */
+    synchronized void put(@NonNull Auth0 account, @NonNull List<Connection> connections) {
+        entries.put(ApplicationFetcher.cacheKeyFor(account), new Entry(Collections.unmodifiableList(connections), SystemClock.elapsedRealtime()));
+    }
+
+    /**
+     * Removes the connections stored for the given account, forcing the next Lock launch to fetch the Application again.
+     *
+     * @param account the account the Application belongs to.
+     */
+    public synchronized void invalidate(@NonNull Auth0 account) {
+        entries.remove(ApplicationFetcher.cacheKeyFor(account));
+    }
+
+    /**
+     * Registers a callback to be notified with the result of the fetch of the given account's Application.
+     *
+     * @param account  the account the Application belongs to.
+     * @param callback the callback to notify.
+     * @return true if there was no fetch in progress and the caller must start one, false if the callback
+     * will be notified with the result of the fetch already in progress.
+     */
+    synchronized boolean awaitFetch(@NonNull Auth0 account, @NonNull AuthenticationCallback<List<Connection>> callback) {
+        final String key = ApplicationFetcher.cacheKeyFor(account);
+        List<AuthenticationCallback<List<Connection>>> callbacks = pendingCallbacks.get(key);
+        final boolean fetchInProgress = callbacks != null;
+        if (!fetchInProgress) {
+            callbacks = new ArrayList<>();
+            pendingCallbacks.put(key, callbacks);
+        }
+        callbacks.add(callback);
+        return !fetchInProgress;
+    }
+
+    /**
+     * Stops notifying the given callback with the result of the fetch of the given account's Application.
+     * The fetch in progress is not cancelled, and later fetches keep waiting for it.
+     *
+     * @param account  the account the Application belongs to.
+     * @param callback the callback that no longer wants to be notified.
+     */
+    synchronized void removePendingCallback(@NonNull Auth0 account, @NonNull AuthenticationCallback<List<Connection>> callback) {
+        final List<AuthenticationCallback<List<Connection>>> callbacks = pendingCallbacks.get(ApplicationFetcher.cacheKeyFor(account));
+        if (callbacks != null) {
+            callbacks.remove(callback);
+        }
+    }
+
+    /**
+     * Removes and returns the callbacks waiting for the fetch of the given account's Application.
+     * Fetches started after this call will make a new request or use the stored connections.
+     *
+     * @param account the account the Application belongs to.
+     * @return the callbacks to notify, which can be empty.
+     */
+    @NonNull
+    synchronized List<AuthenticationCallback<List<Connection>>> takePendingCallbacks(@NonNull Auth0 account) {
+        final List<AuthenticationCallback<List<Connection>>> callbacks = pendingCallbacks.remove(ApplicationFetcher.cacheKeyFor(account));
+        return callbacks != null ? callbacks : Collections.<AuthenticationCallback<List<Connection>>>emptyList();
+    }
+
+    /**
+     * Removes every stored entry.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private static class Entry {
+        private final List<Connection> connections;
+        private final long storedAt;
+
+        Entry(List<Connection> connections, long storedAt) {
+            this.connections = connections;
+            this.storedAt = storedAt;
+        }
+    }
+}
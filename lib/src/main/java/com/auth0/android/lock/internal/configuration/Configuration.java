@@ -31,7 +31,9 @@ import android.util.Log;
 
 import com.auth0.android.lock.AuthButtonSize;
 import com.auth0.android.lock.InitialScreen;
+import com.auth0.android.lock.LockMetrics.LockSpan;
 import com.auth0.android.lock.UsernameStyle;
+import com.auth0.android.lock.internal.tracing.LockTrace;
 import com.auth0.android.lock.utils.CustomField;
 import com.auth0.android.lock.views.AuthConfig;
 
@@ -78,14 +80,16 @@ public class Configuration {
     private Map<String, Integer> authStyles;
 
     public Configuration(List<Connection> connections, Options options) {
-        List<String> allowedConnections = options.getConnections();
-        String defaultDatabaseName = options.getDefaultDatabaseConnection();
-        Set<String> connectionSet = allowedConnections != null ? new HashSet<>(allowedConnections) : new HashSet<String>();
-        this.defaultDatabaseConnection = filterDatabaseConnections(connections, connectionSet, defaultDatabaseName);
-        this.enterpriseConnections = filterConnections(connections, connectionSet, AuthType.ENTERPRISE);
-        this.passwordlessConnections = filterConnections(connections, connectionSet, AuthType.PASSWORDLESS);
-        this.socialConnections = filterConnections(connections, connectionSet, AuthType.SOCIAL);
-        parseLocalOptions(options);
+        final long start = LockTrace.beginSection(LockSpan.BUILD_CONFIGURATION);
+        try {
+            List<String> allowedConnections = options.getConnections();
+            String defaultDatabaseName = options.getDefaultDatabaseConnection();
+            Set<String> connectionSet = allowedConnections != null ? new HashSet<>(allowedConnections) : new HashSet<String>();
+            partitionConnections(connections, connectionSet, defaultDatabaseName);
+            parseLocalOptions(options);
+        } finally {
+            LockTrace.endSection(LockSpan.BUILD_CONFIGURATION, start);
+        }
     }
 
     @NonNull
@@ -134,35 +138,48 @@ public class Configuration {
         return passwordlessConnections;
     }
 
-    @Nullable
-    private DatabaseConnection filterDatabaseConnections(@NonNull List<Connection> connections, Set<String> allowedConnections, String defaultDatabaseName) {
-        if (connections.isEmpty()) {
-            return null;
+    /**
+     * Splits the allowed connections by their Type in a single pass, keeping their original order.
+     */
+    private void partitionConnections(@NonNull List<Connection> connections, Set<String> allowedConnections, String defaultDatabaseName) {
+        final List<DatabaseConnection> databaseConnections = new ArrayList<>();
+        enterpriseConnections = new ArrayList<>();
+        passwordlessConnections = new ArrayList<>();
+        socialConnections = new ArrayList<>();
+        for (Connection connection : connections) {
+            if (!allowedConnections.isEmpty() && !allowedConnections.contains(connection.getName())) {
+                continue;
+            }
+            switch (connection.getType()) {
+                case AuthType.DATABASE:
+                    databaseConnections.add(connection);
+                    break;
+                case AuthType.ENTERPRISE:
+                    enterpriseConnections.add(connection);
+                    break;
+                case AuthType.PASSWORDLESS:
+                    passwordlessConnections.add(connection);
+                    break;
+                case AuthType.SOCIAL:
+                    socialConnections.add(connection);
+                    break;
+            }
+        }
+        if (!connections.isEmpty()) {
+            defaultDatabaseConnection = findDefaultDatabaseConnection(databaseConnections, defaultDatabaseName);
         }
-        final List<DatabaseConnection> filteredConnections = filterConnections(connections, allowedConnections, AuthType.DATABASE);
-        for (DatabaseConnection connection : filteredConnections) {
+    }
+
+    @Nullable
+    private DatabaseConnection findDefaultDatabaseConnection(@NonNull List<DatabaseConnection> databaseConnections, String defaultDatabaseName) {
+        for (DatabaseConnection connection : databaseConnections) {
             if (connection.getName().equals(defaultDatabaseName)) {
                 return connection;
             }
         }
         Log.w(TAG, String.format("You've chosen '%s' as your default database name, but it wasn't found in your Auth0 connections configuration.", defaultDatabaseName));
 
-        return filteredConnections.isEmpty() ? null : filteredConnections.get(0);
-    }
-
-    @NonNull
-    private <T extends BaseConnection> List<T> filterConnections(@NonNull List<Connection> connections, Set<String> allowedConnections, @AuthType int type) {
-        if (connections.isEmpty()) {
-            return (List<T>) connections;
-        }
-        List<T> filtered = new ArrayList<>(connections.size());
-        for (Connection connection : connections) {
-            boolean allowed = allowedConnections.isEmpty() || allowedConnections.contains(connection.getName());
-            if (connection.getType() == type && allowed) {
-                filtered.add((T) connection);
-            }
-        }
-        return filtered;
+        return databaseConnections.isEmpty() ? null : databaseConnections.get(0);
     }
 
 
@@ -3,8 +3,12 @@ package com.auth0.android.lock.internal.configuration;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -12,9 +16,35 @@ import static com.auth0.android.util.CheckHelper.checkArgument;
 
 public class Connection implements BaseConnection, DatabaseConnection, OAuthConnection, PasswordlessConnection {
 
-    private String strategy;
-    private String name;
-    private Map<String, Object> values;
+    private static final String KEY_PASSWORD_POLICY = "passwordPolicy";
+    private static final String KEY_REQUIRES_USERNAME = "requires_username";
+    private static final String KEY_SHOW_SIGNUP = "showSignup";
+    private static final String KEY_SHOW_FORGOT = "showForgot";
+    private static final String KEY_DOMAIN = "domain";
+    private static final String KEY_DOMAIN_ALIASES = "domain_aliases";
+
+    /**
+     * The Type of the known non social strategies. Any strategy not listed here is a social one.
+     */
+    private static final Map<String, Integer> STRATEGY_TYPES = createStrategyTypes();
+
+    private final String strategy;
+    private final String name;
+    @AuthType
+    private final int type;
+    /**
+     * Values of the attributes that are not parsed into one of the typed fields.
+     */
+    private final Map<String, Object> values;
+    private final String passwordPolicyName;
+    @PasswordStrength
+    private final int passwordPolicy;
+    private final boolean requiresUsername;
+    private final boolean showSignUp;
+    private final boolean showForgot;
+    private final String domain;
+    private final List<String> domainAliases;
+    private final Set<String> domainSet;
     private int minUsernameLength;
     private int maxUsernameLength;
     private boolean isCustomDatabase;
@@ -25,6 +55,17 @@ public class Connection implements BaseConnection, DatabaseConnection, OAuthConn
         checkArgument(name != null, "Must have a non-null name");
         this.strategy = strategy;
         this.name = name;
+        this.type = typeForStrategy(strategy);
+        final Object policy = values.remove(KEY_PASSWORD_POLICY);
+        this.passwordPolicyName = policy instanceof String ? (String) policy : null;
+        this.passwordPolicy = parsePasswordPolicy(passwordPolicyName);
+        this.requiresUsername = Boolean.TRUE.equals(values.remove(KEY_REQUIRES_USERNAME));
+        this.showSignUp = Boolean.TRUE.equals(values.remove(KEY_SHOW_SIGNUP));
+        this.showForgot = Boolean.TRUE.equals(values.remove(KEY_SHOW_FORGOT));
+        final Object domain = values.remove(KEY_DOMAIN);
+        this.domain = domain instanceof String ? (String) domain : null;
+        this.domainAliases = parseDomainAliases(values.remove(KEY_DOMAIN_ALIASES));
+        this.domainSet = buildDomainSet(this.domain, this.domainAliases);
         this.values = values;
         parseUsernameLength();
     }
@@ -46,34 +87,44 @@ public class Connection implements BaseConnection, DatabaseConnection, OAuthConn
      */
     @AuthType
     int getType() {
-        switch (strategy) {
-            case "auth0":
-                return AuthType.DATABASE;
-            case "sms":
-            case "email":
-                return AuthType.PASSWORDLESS;
-            case "ad":
-            case "adfs":
-            case "auth0-adldap":
-            case "custom":
-            case "google-apps":
-            case "google-openid":
-            case "ip":
-            case "mscrm":
-            case "office365":
-            case "pingfederate":
-            case "samlp":
-            case "sharepoint":
-            case "waad":
-                return AuthType.ENTERPRISE;
-            default:
-                return AuthType.SOCIAL;
-        }
+        return type;
     }
 
+    /**
+     * Getter for the value of an attribute of this Connection. The known attributes are read from their typed
+     * fields, so a missing requires_username, showSignup or showForgot returns {@link Boolean#FALSE} and
+     * a domain_aliases without any String element returns null.
+     *
+     * @param key    the name of the attribute.
+     * @param tClazz the expected type of the value.
+     * @param <T>    the expected type of the value.
+     * @return the value, or null if it's missing or has another type.
+     */
     @Nullable
     public <T> T valueForKey(@NonNull String key, @NonNull Class<T> tClazz) {
-        final Object value = this.values.get(key);
+        final Object value;
+        switch (key) {
+            case KEY_PASSWORD_POLICY:
+                value = passwordPolicyName;
+                break;
+            case KEY_REQUIRES_USERNAME:
+                value = requiresUsername;
+                break;
+            case KEY_SHOW_SIGNUP:
+                value = showSignUp;
+                break;
+            case KEY_SHOW_FORGOT:
+                value = showForgot;
+                break;
+            case KEY_DOMAIN:
+                value = domain;
+                break;
+            case KEY_DOMAIN_ALIASES:
+                value = domainAliases.isEmpty() ? null : domainAliases;
+                break;
+            default:
+                value = this.values.get(key);
+        }
         return tClazz.isInstance(value) ? tClazz.cast(value) : null;
     }
 
@@ -85,35 +136,22 @@ public class Connection implements BaseConnection, DatabaseConnection, OAuthConn
 
     @PasswordStrength
     public int getPasswordPolicy() {
-        String value = valueForKey("passwordPolicy", String.class);
-        if ("excellent".equals(value)) {
-            return PasswordStrength.EXCELLENT;
-        }
-        if ("good".equals(value)) {
-            return PasswordStrength.GOOD;
-        }
-        if ("fair".equals(value)) {
-            return PasswordStrength.FAIR;
-        }
-        if ("low".equals(value)) {
-            return PasswordStrength.LOW;
-        }
-        return PasswordStrength.NONE;
+        return passwordPolicy;
     }
 
     @Override
     public boolean requiresUsername() {
-        return booleanForKey("requires_username");
+        return requiresUsername;
     }
 
     @Override
     public boolean showSignUp() {
-        return booleanForKey("showSignup");
+        return showSignUp;
     }
 
     @Override
     public boolean showForgot() {
-        return booleanForKey("showForgot");
+        return showForgot;
     }
 
     @Override
@@ -138,22 +176,24 @@ public class Connection implements BaseConnection, DatabaseConnection, OAuthConn
 
     @Override
     public Set<String> getDomainSet() {
-        Set<String> domains = new HashSet<>();
-        String domain = valueForKey("domain", String.class);
-        if (domain != null) {
-            domains.add(domain.toLowerCase());
-            List<String> aliases = valueForKey("domain_aliases", List.class);
-            if (aliases != null) {
-                for (String alias : aliases) {
-                    domains.add(alias.toLowerCase());
-                }
-            }
-        }
-        return domains;
+        return domainSet;
+    }
+
+    @Nullable
+    @Override
+    public String getDomain() {
+        return domain;
+    }
+
+    @NonNull
+    @Override
+    public List<String> getDomainAliases() {
+        return domainAliases;
     }
 
     /**
-     * Creates a new Connection given a Strategy name and the map of values.
+     * Creates a new Connection given a Strategy name and the map of values. The name and the known attributes
+     * are removed from the given map, which is then kept by the Connection for the remaining attributes.
      *
      * @param strategy strategy name for this connection
      * @param values   additional values associated to this connection
@@ -163,6 +203,73 @@ public class Connection implements BaseConnection, DatabaseConnection, OAuthConn
         return new Connection(strategy, values);
     }
 
+    @AuthType
+    static int typeForStrategy(@NonNull String strategy) {
+        final Integer type = STRATEGY_TYPES.get(strategy);
+        //noinspection WrongConstant
+        return type != null ? type : AuthType.SOCIAL;
+    }
+
+    private static Map<String, Integer> createStrategyTypes() {
+        final Map<String, Integer> types = new HashMap<>();
+        types.put("auth0", AuthType.DATABASE);
+        types.put("sms", AuthType.PASSWORDLESS);
+        types.put("email", AuthType.PASSWORDLESS);
+        for (String strategy : new String[]{"ad", "adfs", "auth0-adldap", "custom", "google-apps", "google-openid", "ip",
+                "mscrm", "office365", "pingfederate", "samlp", "sharepoint", "waad"}) {
+            types.put(strategy, AuthType.ENTERPRISE);
+        }
+        return Collections.unmodifiableMap(types);
+    }
+
+    @PasswordStrength
+    private static int parsePasswordPolicy(@Nullable String value) {
+        if (value == null) {
+            return PasswordStrength.NONE;
+        }
+        switch (value) {
+            case "excellent":
+                return PasswordStrength.EXCELLENT;
+            case "good":
+                return PasswordStrength.GOOD;
+            case "fair":
+                return PasswordStrength.FAIR;
+            case "low":
+                return PasswordStrength.LOW;
+            default:
+                return PasswordStrength.NONE;
+        }
+    }
+
+    /**
+     * Copies the String elements of the domain_aliases value. Elements of any other type are ignored.
+     */
+    private static List<String> parseDomainAliases(@Nullable Object value) {
+        if (!(value instanceof List)) {
+            return Collections.emptyList();
+        }
+        final List<?> elements = (List<?>) value;
+        final List<String> aliases = new ArrayList<>(elements.size());
+        for (Object element : elements) {
+            if (element instanceof String) {
+                aliases.add((String) element);
+            }
+        }
+        return aliases.isEmpty() ? Collections.<String>emptyList() : Collections.unmodifiableList(aliases);
+    }
+
+    private static Set<String> buildDomainSet(@Nullable String domain, @NonNull List<String> aliases) {
+        if (domain == null) {
+            return Collections.emptySet();
+        }
+        Set<String> domains = new HashSet<>(aliases.size() + 1);
+        domains.add(domain.toLowerCase(Locale.ROOT));
+        for (String alias : aliases) {
+            domains.add(alias.toLowerCase(Locale.ROOT));
+        }
+        return Collections.unmodifiableSet(domains);
+    }
+
     private void parseUsernameLength() {
         Map<String, Object> validations = valueForKey("validation", Map.class);
         if (validations == null || !validations.containsKey("username")) {
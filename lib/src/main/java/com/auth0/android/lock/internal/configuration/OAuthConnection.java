@@ -1,5 +1,9 @@
 package com.auth0.android.lock.internal.configuration;
 
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.List;
 import java.util.Set;
 
 public interface OAuthConnection extends BaseConnection {
@@ -18,4 +22,20 @@ public interface OAuthConnection extends BaseConnection {
      */
     Set<String> getDomainSet();
 
+    /**
+     * If this connection is of type Enterprise it will return the main Domain.
+     *
+     * @return the main domain, or null if it's not configured
+     */
+    @Nullable
+    String getDomain();
+
+    /**
+     * If this connection is of type Enterprise it will return the Domain aliases, as configured.
+     *
+     * @return the domain aliases, which can be empty
+     */
+    @NonNull
+    List<String> getDomainAliases();
+
 }
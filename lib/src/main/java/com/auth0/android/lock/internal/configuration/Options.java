@@ -24,8 +24,8 @@
 
 package com.auth0.android.lock.internal.configuration;
 
+import android.os.BadParcelableException;
 import android.os.Build;
-import android.os.Bundle;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
@@ -54,8 +54,17 @@ import java.util.Map;
 public class Options implements Parcelable {
     private static final int WITHOUT_DATA = 0x00;
     private static final int HAS_DATA = 0x01;
-    private static final String KEY_AUTHENTICATION_PARAMETERS = "authenticationParameters";
-    private static final String KEY_CONNECTIONS_SCOPE = "connectionsScope";
+    /**
+     * Version of the Parcel encoding. Must be increased every time the order or the type of the written fields changes.
+     */
+    private static final int PARCEL_VERSION = 2;
+    private static final int VALUE_NULL = 0;
+    private static final int VALUE_STRING = 1;
+    private static final int VALUE_BOOLEAN = 2;
+    private static final int VALUE_INTEGER = 3;
+    private static final int VALUE_LONG = 4;
+    private static final int VALUE_DOUBLE = 5;
+    private static final int VALUE_OTHER = 6;
     private static final String SCOPE_KEY = "scope";
     private static final String DEVICE_KEY = "device";
     private static final String SCOPE_OFFLINE_ACCESS = "offline_access";
@@ -110,6 +119,10 @@ public class Options implements Parcelable {
     }
 
     protected Options(Parcel in) {
+        final int version = in.readInt();
+        if (version != PARCEL_VERSION) {
+            throw new BadParcelableException("Unsupported Options parcel version " + version);
+        }
         Auth0Parcelable auth0Parcelable = (Auth0Parcelable) in.readValue(Auth0Parcelable.class.getClassLoader());
         account = auth0Parcelable.getAuth0();
         useBrowser = in.readByte() != WITHOUT_DATA;
@@ -136,40 +149,35 @@ public class Options implements Parcelable {
         audience = in.readString();
         scheme = in.readString();
         if (in.readByte() == HAS_DATA) {
-            connections = new ArrayList<>();
-            in.readList(connections, String.class.getClassLoader());
+            connections = in.createStringArrayList();
         } else {
             connections = null;
         }
         if (in.readByte() == HAS_DATA) {
-            enterpriseConnectionsUsingWebForm = new ArrayList<>();
-            in.readList(enterpriseConnectionsUsingWebForm, String.class.getClassLoader());
+            enterpriseConnectionsUsingWebForm = in.createStringArrayList();
         } else {
             enterpriseConnectionsUsingWebForm = null;
         }
         if (in.readByte() == HAS_DATA) {
-            // FIXME this is something to improve
-            Bundle mapBundle = in.readBundle();
-            authenticationParameters = (HashMap<String, Object>) mapBundle.getSerializable(KEY_AUTHENTICATION_PARAMETERS);
+            authenticationParameters = readParameters(in);
         } else {
             authenticationParameters = null;
         }
         if (in.readByte() == HAS_DATA) {
-            List<String> authStylesKeys = new ArrayList<>();
-            List<Integer> authStylesValues = new ArrayList<>();
-            in.readList(authStylesKeys, String.class.getClassLoader());
-            in.readList(authStylesValues, Integer.class.getClassLoader());
-            authStyles = new HashMap<>();
-            for (int i = 0; i < authStylesKeys.size(); i++) {
-                authStyles.put(authStylesKeys.get(i), authStylesValues.get(i));
+            final int size = in.readInt();
+            authStyles = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                authStyles.put(in.readString(), in.readInt());
             }
         } else {
             authStyles = null;
         }
         if (in.readByte() == HAS_DATA) {
-            // FIXME this is something to improve
-            Bundle mapBundle = in.readBundle();
-            connectionsScope = (HashMap<String, String>) mapBundle.getSerializable(KEY_CONNECTIONS_SCOPE);
+            final int size = in.readInt();
+            connectionsScope = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                connectionsScope.put(in.readString(), in.readString());
+            }
         } else {
             connectionsScope = null;
         }
@@ -188,6 +196,7 @@ public class Options implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
+        dest.writeInt(PARCEL_VERSION);
         dest.writeValue(new Auth0Parcelable(account));
         dest.writeByte((byte) (useBrowser ? HAS_DATA : WITHOUT_DATA));
         dest.writeByte((byte) (usePKCE ? HAS_DATA : WITHOUT_DATA));
@@ -216,38 +225,39 @@ public class Options implements Parcelable {
             dest.writeByte((byte) (WITHOUT_DATA));
         } else {
             dest.writeByte((byte) (HAS_DATA));
-            dest.writeList(connections);
+            dest.writeStringList(connections);
         }
         if (enterpriseConnectionsUsingWebForm == null) {
             dest.writeByte((byte) (WITHOUT_DATA));
         } else {
             dest.writeByte((byte) (HAS_DATA));
-            dest.writeList(enterpriseConnectionsUsingWebForm);
+            dest.writeStringList(enterpriseConnectionsUsingWebForm);
         }
         if (authenticationParameters == null) {
             dest.writeByte((byte) (WITHOUT_DATA));
         } else {
             dest.writeByte((byte) (HAS_DATA));
-            // FIXME this is something to improve
-            Bundle mapBundle = new Bundle();
-            mapBundle.putSerializable(KEY_AUTHENTICATION_PARAMETERS, authenticationParameters);
-            dest.writeBundle(mapBundle);
+            writeParameters(dest, authenticationParameters);
         }
         if (authStyles == null) {
             dest.writeByte((byte) (WITHOUT_DATA));
         } else {
             dest.writeByte((byte) (HAS_DATA));
-            dest.writeList(new ArrayList<>(authStyles.keySet()));
-            dest.writeList(new ArrayList<>(authStyles.values()));
+            dest.writeInt(authStyles.size());
+            for (Map.Entry<String, Integer> entry : authStyles.entrySet()) {
+                dest.writeString(entry.getKey());
+                dest.writeInt(entry.getValue());
+            }
         }
         if (connectionsScope == null) {
             dest.writeByte((byte) (WITHOUT_DATA));
         } else {
             dest.writeByte((byte) (HAS_DATA));
-            // FIXME this is something to improve
-            Bundle mapBundle = new Bundle();
-            mapBundle.putSerializable(KEY_CONNECTIONS_SCOPE, connectionsScope);
-            dest.writeBundle(mapBundle);
+            dest.writeInt(connectionsScope.size());
+            for (Map.Entry<String, String> entry : connectionsScope.entrySet()) {
+                dest.writeString(entry.getKey());
+                dest.writeString(entry.getValue());
+            }
         }
         if (customFields == null) {
             dest.writeByte((byte) (WITHOUT_DATA));
@@ -257,6 +267,76 @@ public class Options implements Parcelable {
         }
     }
 
+    /**
+     * Writes the parameters tagging each value with its type, so the common values don't go
+     * through Java serialization. Any other value is written with {@link Parcel#writeValue(Object)}.
+     */
+    private static void writeParameters(Parcel dest, Map<String, Object> parameters) {
+        dest.writeInt(parameters.size());
+        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+            dest.writeString(entry.getKey());
+            final Object value = entry.getValue();
+            if (value == null) {
+                dest.writeInt(VALUE_NULL);
+            } else if (value instanceof String) {
+                dest.writeInt(VALUE_STRING);
+                dest.writeString((String) value);
+            } else if (value instanceof Boolean) {
+                dest.writeInt(VALUE_BOOLEAN);
+                dest.writeByte((byte) ((Boolean) value ? HAS_DATA : WITHOUT_DATA));
+            } else if (value instanceof Integer) {
+                dest.writeInt(VALUE_INTEGER);
+                dest.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                dest.writeInt(VALUE_LONG);
+                dest.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                dest.writeInt(VALUE_DOUBLE);
+                dest.writeDouble((Double) value);
+            } else {
+                dest.writeInt(VALUE_OTHER);
+                dest.writeValue(value);
+            }
+        }
+    }
+
+    private static HashMap<String, Object> readParameters(Parcel in) {
+        final int size = in.readInt();
+        final HashMap<String, Object> parameters = new HashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            final String key = in.readString();
+            final Object value;
+            final int type = in.readInt();
+            switch (type) {
+                case VALUE_NULL:
+                    value = null;
+                    break;
+                case VALUE_STRING:
+                    value = in.readString();
+                    break;
+                case VALUE_BOOLEAN:
+                    value = in.readByte() != WITHOUT_DATA;
+                    break;
+                case VALUE_INTEGER:
+                    value = in.readInt();
+                    break;
+                case VALUE_LONG:
+                    value = in.readLong();
+                    break;
+                case VALUE_DOUBLE:
+                    value = in.readDouble();
+                    break;
+                case VALUE_OTHER:
+                    value = in.readValue(Options.class.getClassLoader());
+                    break;
+                default:
+                    throw new BadParcelableException("Unknown parameter type " + type);
+            }
+            parameters.put(key, value);
+        }
+        return parameters;
+    }
+
     @SuppressWarnings("unused")
     public static final Parcelable.Creator<Options> CREATOR = new Parcelable.Creator<Options>() {
         @Override
@@ -25,19 +25,24 @@
 package com.auth0.android.lock.internal.configuration;
 
 import android.content.Context;
+import android.content.res.Resources;
 import android.graphics.drawable.Drawable;
 import android.os.Parcel;
 import android.os.Parcelable;
+import android.support.annotation.AnyRes;
 import android.support.annotation.AttrRes;
 import android.support.annotation.ColorInt;
 import android.support.annotation.ColorRes;
 import android.support.annotation.DrawableRes;
 import android.support.annotation.StringRes;
 import android.support.v4.content.ContextCompat;
+import android.util.SparseIntArray;
 import android.util.TypedValue;
 
 import com.auth0.android.lock.R;
 
+import java.lang.ref.WeakReference;
+
 /**
  * Helper class to resolve Lock.Theme values.
  * <p>
@@ -52,6 +57,10 @@ public class Theme implements Parcelable {
     private final int primaryColor;
     private final int darkPrimaryColor;
 
+    private final SparseIntArray resolvedResources = new SparseIntArray();
+    private final TypedValue typedValue = new TypedValue();
+    private WeakReference<Resources.Theme> resolvedTheme;
+
     private Theme(int headerTitle, int headerLogo, int headerColor, int headerTitleColor, int primaryColor, int darkPrimaryColor) {
         this.headerTitle = headerTitle;
         this.headerLogo = headerLogo;
@@ -61,14 +70,31 @@ public class Theme implements Parcelable {
         this.darkPrimaryColor = darkPrimaryColor;
     }
 
+    /**
+     * Resolves the resource the given attribute points to in the context's theme. Each attribute is
+     * resolved only once per theme, as the Lock views ask for the same values many times.
+     */
+    @AnyRes
+    private int resolveAttribute(Context context, @AttrRes int attrName) {
+        final Resources.Theme theme = context.getTheme();
+        if (resolvedTheme == null || resolvedTheme.get() != theme) {
+            resolvedResources.clear();
+            resolvedTheme = new WeakReference<>(theme);
+        }
+        int resourceId = resolvedResources.get(attrName);
+        if (resourceId == 0) {
+            theme.resolveAttribute(attrName, typedValue, true);
+            resourceId = typedValue.resourceId;
+            resolvedResources.put(attrName, resourceId);
+        }
+        return resourceId;
+    }
+
     private String resolveStringResource(Context context, @StringRes int res, @AttrRes int attrName) {
         if (res > 0) {
             return context.getString(res);
         }
-
-        TypedValue typedValue = new TypedValue();
-        context.getTheme().resolveAttribute(attrName, typedValue, true);
-        return context.getString(typedValue.resourceId);
+        return context.getString(resolveAttribute(context, attrName));
     }
 
     @ColorInt
@@ -76,20 +102,14 @@ public class Theme implements Parcelable {
         if (res > 0) {
             return ContextCompat.getColor(context, res);
         }
-
-        TypedValue typedValue = new TypedValue();
-        context.getTheme().resolveAttribute(attrName, typedValue, true);
-        return ContextCompat.getColor(context, typedValue.resourceId);
+        return ContextCompat.getColor(context, resolveAttribute(context, attrName));
     }
 
     private Drawable resolveDrawableResource(Context context, @DrawableRes int res, @AttrRes int attrName) {
         if (res > 0) {
             return ContextCompat.getDrawable(context, res);
         }
-
-        TypedValue typedValue = new TypedValue();
-        context.getTheme().resolveAttribute(attrName, typedValue, true);
-        return ContextCompat.getDrawable(context, typedValue.resourceId);
+        return ContextCompat.getDrawable(context, resolveAttribute(context, attrName));
     }
 
     public String getHeaderTitle(Context context) {
@@ -0,0 +1,89 @@
+/*
+ * HttpClientResolver.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.internal.network;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.VisibleForTesting;
+
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the OkHttpClient instance used by every Lock request, so that the dispatcher, the
+ * connection pool and the established connections are reused between Lock launches.
+ * If the application doesn't provide its own client, a default one is created on first use.
+ */
+public final class HttpClientResolver {
+
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_DURATION_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static OkHttpClient httpClient;
+
+    private HttpClientResolver() {
+    }
+
+    /**
+     * Sets the OkHttpClient instance to use on every Lock request.
+     *
+     * @param client the client to use.
+     */
+    public static synchronized void setHttpClient(@NonNull OkHttpClient client) {
+        httpClient = client;
+    }
+
+    /**
+     * Getter for the OkHttpClient instance to use on Lock requests.
+     *
+     * @return the client given by the application or the default one.
+     */
+    @NonNull
+    public static synchronized OkHttpClient getHttpClient() {
+        if (httpClient == null) {
+            httpClient = createDefaultClient();
+        }
+        return httpClient;
+    }
+
+    @VisibleForTesting
+    static synchronized void reset() {
+        httpClient = null;
+    }
+
+    private static OkHttpClient createDefaultClient() {
+        final OkHttpClient client = new OkHttpClient();
+        client.setConnectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_DURATION_MS));
+        client.setProtocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        client.setConnectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        client.setReadTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        client.setWriteTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        return client;
+    }
+}
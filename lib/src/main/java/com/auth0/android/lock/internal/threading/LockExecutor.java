@@ -0,0 +1,175 @@
+/*
+ * LockExecutor.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.internal.threading;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.VisibleForTesting;
+import android.util.Log;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every Lock job that must stay off the main thread, like reading the cached Application,
+ * parsing it or loading the stored preferences. By default it's a small pool of named background
+ * threads with a bounded queue, owned by Lock so that its jobs don't wait behind the application's
+ * AsyncTasks. The application can provide its own ExecutorService instead.
+ */
+public final class LockExecutor {
+
+    private static final String TAG = LockExecutor.class.getSimpleName();
+    private static final String THREAD_NAME_PREFIX = "Lock-Background-";
+    private static final int MAX_THREADS = 2;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static ExecutorService executorService;
+    private static final AtomicInteger queueDepth = new AtomicInteger();
+
+    private LockExecutor() {
+    }
+
+    /**
+     * Sets the ExecutorService to run the Lock background jobs on.
+     *
+     * @param executor the executor to use.
+     */
+    public static synchronized void setExecutorService(@NonNull ExecutorService executor) {
+        executorService = executor;
+    }
+
+    /**
+     * Getter for the ExecutorService that runs the Lock background jobs.
+     *
+     * @return the executor given by the application or the default one.
+     */
+    @NonNull
+    public static synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            executorService = createDefaultExecutor();
+        }
+        return executorService;
+    }
+
+    /**
+     * Runs the given job in the background. The returned Future can be used to cancel the job when
+     * the screen that requested it goes away.
+     *
+     * @param job the job to run.
+     * @return the future of the job.
+     * @throws RejectedExecutionException if the executor can't accept more jobs.
+     */
+    @NonNull
+    public static Future<?> execute(@NonNull Runnable job) {
+        final TrackedJob trackedJob = new TrackedJob(job);
+        queueDepth.incrementAndGet();
+        try {
+            getExecutorService().execute(trackedJob);
+        } catch (RejectedExecutionException e) {
+            trackedJob.leaveQueue();
+            throw e;
+        }
+        return trackedJob;
+    }
+
+    /**
+     * Getter for the number of jobs that were given to {@link #execute(Runnable)} and haven't started yet.
+     *
+     * @return the number of queued jobs.
+     */
+    public static int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    @VisibleForTesting
+    public static synchronized void reset() {
+        executorService = null;
+        queueDepth.set(0);
+    }
+
+    private static ExecutorService createDefaultExecutor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(QUEUE_CAPACITY), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + count.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Leaves the queue when it starts running, or when it's cancelled before that. Failures are logged,
+     * as nobody waits on the future of most jobs.
+     */
+    private static class TrackedJob extends FutureTask<Void> {
+
+        private final AtomicBoolean queued = new AtomicBoolean(true);
+
+        TrackedJob(Runnable job) {
+            super(job, null);
+        }
+
+        void leaveQueue() {
+            if (queued.compareAndSet(true, false)) {
+                queueDepth.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void run() {
+            leaveQueue();
+            super.run();
+        }
+
+        @Override
+        protected void done() {
+            leaveQueue();
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                get();
+            } catch (InterruptedException | ExecutionException e) {
+                Log.e(TAG, "A background job failed", e);
+            }
+        }
+    }
+}
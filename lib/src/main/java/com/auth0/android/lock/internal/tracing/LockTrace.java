@@ -0,0 +1,137 @@
+/*
+ * LockTrace.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.internal.tracing;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.os.TraceCompat;
+
+import com.auth0.android.authentication.AuthenticationException;
+import com.auth0.android.callback.AuthenticationCallback;
+import com.auth0.android.lock.LockMetrics;
+import com.auth0.android.lock.LockMetrics.LockSpan;
+
+/**
+ * Measures the steps of Lock, reporting them to the LockMetrics given by the application. Steps that start
+ * and end on the same thread are also written as systrace sections. The Lock Activities set the listener of
+ * the Lock instance that launched them when they are created, and clear it when they finish.
+ */
+public final class LockTrace {
+
+    private static volatile LockMetrics metrics;
+
+    private LockTrace() {
+    }
+
+    /**
+     * Sets the LockMetrics to report the measured steps to.
+     *
+     * @param lockMetrics the listener to use, or null to stop reporting.
+     */
+    public static synchronized void setMetrics(@Nullable LockMetrics lockMetrics) {
+        metrics = lockMetrics;
+    }
+
+    /**
+     * Stops reporting the measured steps to the given LockMetrics, if it's still the one in use.
+     *
+     * @param lockMetrics the listener to remove.
+     */
+    public static synchronized void clearMetrics(@NonNull LockMetrics lockMetrics) {
+        if (metrics == lockMetrics) {
+            metrics = null;
+        }
+    }
+
+    /**
+     * Starts measuring a step that ends on this same thread, opening its systrace section.
+     *
+     * @param span the step to measure.
+     * @return the start time, to pass to {@link #endSection(String, long)}.
+     */
+    public static long beginSection(@NonNull @LockSpan String span) {
+        TraceCompat.beginSection(span);
+        return System.nanoTime();
+    }
+
+    /**
+     * Ends a step started with {@link #beginSection(String)}, closing its systrace section.
+     *
+     * @param span       the step that ended.
+     * @param startNanos the time returned when the step started.
+     */
+    public static void endSection(@NonNull @LockSpan String span, long startNanos) {
+        TraceCompat.endSection();
+        report(span, startNanos);
+    }
+
+    /**
+     * Getter for the start time of a step that ends on another thread. Systrace sections can't span
+     * threads, so these steps are only reported to the LockMetrics.
+     *
+     * @return the start time, to pass to {@link #report(String, long)}.
+     */
+    public static long now() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Reports a step that has just ended.
+     *
+     * @param span       the step that ended.
+     * @param startNanos the time at which the step started.
+     */
+    public static void report(@NonNull @LockSpan String span, long startNanos) {
+        final LockMetrics lockMetrics = metrics;
+        if (lockMetrics != null) {
+            lockMetrics.onSpan(span, startNanos, System.nanoTime());
+        }
+    }
+
+    /**
+     * Wraps the callback of an Authentication API request to measure its round trip.
+     *
+     * @param callback the callback to notify of the request result.
+     * @param <T>      the type of the request result.
+     * @return a callback that reports the round trip and then notifies the given one.
+     */
+    @NonNull
+    public static <T> AuthenticationCallback<T> traceRequest(@NonNull final AuthenticationCallback<T> callback) {
+        final long startNanos = now();
+        return new AuthenticationCallback<T>() {
+            @Override
+            public void onSuccess(T payload) {
+                report(LockSpan.AUTHENTICATION_REQUEST, startNanos);
+                callback.onSuccess(payload);
+            }
+
+            @Override
+            public void onFailure(AuthenticationException error) {
+                report(LockSpan.AUTHENTICATION_REQUEST, startNanos);
+                callback.onFailure(error);
+            }
+        };
+    }
+}
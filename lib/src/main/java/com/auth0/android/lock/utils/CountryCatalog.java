@@ -0,0 +1,102 @@
+/*
+ * CountryCatalog.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.utils;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import com.auth0.android.lock.adapters.Country;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The list of countries and their dial codes, shared by every screen of this process. The countries
+ * come from the {@link CountryTable} generated at build time from the countries asset, already sorted
+ * by ISO code, so nothing is read or parsed at runtime. They are indexed so that looking up a country
+ * by its ISO code doesn't scan the list.
+ */
+public final class CountryCatalog {
+
+    private static CountryCatalog instance;
+
+    private final List<Country> countries;
+    private final Map<String, Country> countriesByIsoCode;
+
+    @VisibleForTesting
+    CountryCatalog(@NonNull String[] isoCodes, @NonNull String[] dialCodes) {
+        final List<Country> countries = new ArrayList<>(isoCodes.length);
+        final Map<String, Country> countriesByIsoCode = new HashMap<>(isoCodes.length * 2);
+        for (int i = 0; i < isoCodes.length; i++) {
+            final Country country = new Country(isoCodes[i], dialCodes[i]);
+            countries.add(country);
+            countriesByIsoCode.put(isoCodes[i].toUpperCase(Locale.ROOT), country);
+        }
+        this.countries = Collections.unmodifiableList(countries);
+        this.countriesByIsoCode = countriesByIsoCode;
+    }
+
+    /**
+     * Getter for the catalog shared by every screen of this process.
+     *
+     * @return the shared catalog instance.
+     */
+    @NonNull
+    public static synchronized CountryCatalog getInstance() {
+        if (instance == null) {
+            instance = new CountryCatalog(CountryTable.ISO_CODES, CountryTable.DIAL_CODES);
+        }
+        return instance;
+    }
+
+    /**
+     * Getter for every country of the catalog.
+     *
+     * @return the countries sorted by ISO code.
+     */
+    @NonNull
+    public List<Country> getCountries() {
+        return countries;
+    }
+
+    /**
+     * Finds the country with the given ISO code, ignoring the case.
+     *
+     * @param isoCode the ISO 3166 country code, as returned by {@link Locale#getCountry()}.
+     * @return the country or null if there is no country with that code.
+     */
+    @Nullable
+    public Country findByIsoCode(@Nullable String isoCode) {
+        if (isoCode == null) {
+            return null;
+        }
+        return countriesByIsoCode.get(isoCode.toUpperCase(Locale.ROOT));
+    }
+}
@@ -26,12 +26,15 @@ package com.auth0.android.lock.utils;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.text.TextUtils;
 import android.util.Log;
 
 import com.auth0.android.lock.internal.configuration.OAuthConnection;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Helper class to find out which email domains can be valid for the current Auth0 configuration.
@@ -39,15 +42,36 @@ import java.util.List;
 public class EnterpriseConnectionMatcher {
 
     private static final String TAG = EnterpriseConnectionMatcher.class.getSimpleName();
-    private static final String DOMAIN_KEY = "domain";
-    private static final String DOMAIN_ALIASES_KEY = "domain_aliases";
     private static final String AT_SYMBOL = "@";
+    private static final char AT_SYMBOL_CHAR = '@';
 
-    private List<OAuthConnection> connections;
+    private final Map<String, OAuthConnection> connectionsByDomain;
+    private String lastDomain;
+    private OAuthConnection lastConnection;
 
     public EnterpriseConnectionMatcher(@NonNull List<OAuthConnection> connections) {
-        this.connections = new ArrayList<>(connections);
-        Log.v(TAG, String.format("Creating a new instance to match %d Enterprise Connections", this.connections.size()));
+        Log.v(TAG, String.format("Creating a new instance to match %d Enterprise Connections", connections.size()));
+        connectionsByDomain = new HashMap<>();
+        for (OAuthConnection c : connections) {
+            indexDomain(c.getDomain(), c);
+            for (String alias : c.getDomainAliases()) {
+                indexDomain(alias, c);
+            }
+        }
+    }
+
+    /**
+     * Adds the domain to the index, unless a previous connection already uses it.
+     * That way the first connection in the list that has the domain wins.
+     */
+    private void indexDomain(@Nullable String domain, @NonNull OAuthConnection connection) {
+        if (domain == null) {
+            return;
+        }
+        final String key = domain.toLowerCase(Locale.ROOT);
+        if (!connectionsByDomain.containsKey(key)) {
+            connectionsByDomain.put(key, connection);
+        }
     }
 
     /**
@@ -63,23 +87,43 @@ public class EnterpriseConnectionMatcher {
             return null;
         }
 
-        domain = domain.toLowerCase();
-        for (OAuthConnection c : connections) {
-            String mainDomain = domainForConnection(c);
-            if (domain.equalsIgnoreCase(mainDomain)) {
-                return c;
-            }
+        return connectionsByDomain.get(domain.toLowerCase(Locale.ROOT));
+    }
 
-            List<String> aliases = c.valueForKey(DOMAIN_ALIASES_KEY, List.class);
-            if (aliases != null) {
-                for (String d : aliases) {
-                    if (d.equalsIgnoreCase(domain)) {
-                        return c;
-                    }
-                }
+    /**
+     * Tries to find a valid domain with the given input, reusing the result of the previous call when
+     * the domain part of the input didn't change. Meant to be called on every text change of an input,
+     * where most edits only touch the username part.
+     *
+     * @param email to search the Domain for.
+     * @return a Connection if found, null otherwise.
+     */
+    @Nullable
+    public OAuthConnection parseIncrementally(@NonNull CharSequence email) {
+        final int indexAt = TextUtils.indexOf(email, AT_SYMBOL_CHAR);
+        if (indexAt == -1 || indexAt == email.length() - 1) {
+            lastDomain = null;
+            lastConnection = null;
+            return null;
+        }
+        if (lastDomain != null && sameDomain(email, indexAt + 1, lastDomain)) {
+            return lastConnection;
+        }
+        lastDomain = email.subSequence(indexAt + 1, email.length()).toString();
+        lastConnection = connectionsByDomain.get(lastDomain.toLowerCase(Locale.ROOT));
+        return lastConnection;
+    }
+
+    private static boolean sameDomain(CharSequence email, int domainStart, String domain) {
+        if (email.length() - domainStart != domain.length()) {
+            return false;
+        }
+        for (int i = 0; i < domain.length(); i++) {
+            if (email.charAt(domainStart + i) != domain.charAt(i)) {
+                return false;
             }
         }
-        return null;
+        return true;
     }
 
     /**
@@ -123,6 +167,6 @@ public class EnterpriseConnectionMatcher {
      * @return the main domain.
      */
     public String domainForConnection(@NonNull OAuthConnection connection) {
-        return connection.valueForKey(DOMAIN_KEY, String.class);
+        return connection.getDomain();
     }
 }
@@ -31,6 +31,7 @@ import android.util.Log;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
@@ -38,6 +39,10 @@ import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Loads the countries list from the JSON asset. Lock itself uses the {@link CountryCatalog} instead,
+ * which is generated from the same asset at build time and doesn't need to parse it.
+ */
 public abstract class LoadCountriesTask extends AsyncTask<String, Void, Map<String, String>> {
 
     private static final String TAG = LoadCountriesTask.class.getName();
@@ -54,13 +59,21 @@ public abstract class LoadCountriesTask extends AsyncTask<String, Void, Map<Stri
         Map<String, String> codes;
         final Type mapType = new TypeToken<Map<String, String>>() {
         }.getType();
+        Reader reader = null;
         try {
-            final Reader reader = new InputStreamReader(context.getAssets().open(params[0]));
+            reader = new BufferedReader(new InputStreamReader(context.getAssets().open(params[0]), "UTF-8"));
             codes = new Gson().fromJson(reader, mapType);
             Log.d(TAG, String.format("Loaded %d countries", codes.size()));
         } catch (IOException e) {
             codes = new HashMap<>();
             Log.e(TAG, "Failed to load the countries list from the JSON file", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException ignored) {
+                }
+            }
         }
         return codes;
     }
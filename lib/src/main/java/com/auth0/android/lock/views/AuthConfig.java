@@ -1,6 +1,7 @@
 package com.auth0.android.lock.views;
 
 import android.content.Context;
+import android.content.res.Resources;
 import android.content.res.TypedArray;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.ColorInt;
@@ -12,11 +13,23 @@ import android.support.v4.content.ContextCompat;
 import com.auth0.android.lock.R;
 import com.auth0.android.lock.internal.configuration.OAuthConnection;
 
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 public class AuthConfig {
 
+    /**
+     * The Style of each known social strategy. Any strategy not listed here uses the default Lock.Theme.AuthStyle.
+     */
+    private static final Map<String, Integer> STRATEGY_STYLES = createStrategyStyles();
+
     private final OAuthConnection connection;
     @StyleRes
     private final int styleRes;
+    private int[] resolvedResources;
+    private WeakReference<Resources.Theme> resolvedTheme;
 
     public AuthConfig(@NonNull OAuthConnection connection, @StyleRes int styleRes) {
         this.connection = connection;
@@ -31,14 +44,14 @@ public class AuthConfig {
     @NonNull
     public String getName(@NonNull Context context) {
         //noinspection ResourceType
-        int id = getIdForResource(context, R.attr.Auth0_Name);
+        int id = getIdForResource(context, R.styleable.Lock_SocialConfig_Auth0_Name);
         return id != -1 ? context.getString(id) : connection.getStrategy();
     }
 
     @NonNull
     public Drawable getLogo(@NonNull Context context) {
         //noinspection ResourceType
-        int id = getIdForResource(context, R.attr.Auth0_Logo);
+        int id = getIdForResource(context, R.styleable.Lock_SocialConfig_Auth0_Logo);
         if (id == -1) {
             id = R.drawable.com_auth0_lock_ic_social_auth0;
         }
@@ -48,7 +61,7 @@ public class AuthConfig {
     @ColorInt
     public int getBackgroundColor(@NonNull Context context) {
         //noinspection ResourceType
-        int id = getIdForResource(context, R.attr.Auth0_BackgroundColor);
+        int id = getIdForResource(context, R.styleable.Lock_SocialConfig_Auth0_BackgroundColor);
         if (id == -1) {
             id = R.color.com_auth0_lock_social_unknown;
         }
@@ -56,18 +69,25 @@ public class AuthConfig {
     }
 
     /**
-     * Retrieves the resource id of the given Style index.
+     * Retrieves the resource id of the given Style index. All the Lock.SocialConfig attributes of the Style
+     * are resolved together the first time, and again only if the context's theme changes.
      *
      * @param context a valid Context
-     * @param index   The index to search on the Style definition.
+     * @param index   The index to search on the Lock.SocialConfig Style definition.
      * @return the id if found or -1.
      */
     int getIdForResource(@NonNull Context context, @StyleableRes int index) {
-        final int[] attrs = new int[]{index};
-        final TypedArray typedArray = context.getTheme().obtainStyledAttributes(styleRes, attrs);
-        int id = typedArray.getResourceId(0, -1);
-        typedArray.recycle();
-        return id;
+        final Resources.Theme theme = context.getTheme();
+        if (resolvedResources == null || resolvedTheme.get() != theme) {
+            final TypedArray typedArray = theme.obtainStyledAttributes(styleRes, R.styleable.Lock_SocialConfig);
+            resolvedResources = new int[typedArray.length()];
+            for (int i = 0; i < resolvedResources.length; i++) {
+                resolvedResources[i] = typedArray.getResourceId(i, -1);
+            }
+            typedArray.recycle();
+            resolvedTheme = new WeakReference<>(theme);
+        }
+        return resolvedResources[index];
     }
 
     /**
@@ -78,121 +98,49 @@ public class AuthConfig {
      */
     @StyleRes
     public static int styleForStrategy(String strategyName) {
-        int style = R.style.Lock_Theme_AuthStyle;
-        switch (strategyName) {
-            case "amazon":
-                style = R.style.Lock_Theme_AuthStyle_Amazon;
-                break;
-            case "aol":
-                style = R.style.Lock_Theme_AuthStyle_AOL;
-                break;
-            case "bitbucket":
-                style = R.style.Lock_Theme_AuthStyle_BitBucket;
-                break;
-            case "dropbox":
-                style = R.style.Lock_Theme_AuthStyle_Dropbox;
-                break;
-            case "yahoo":
-                style = R.style.Lock_Theme_AuthStyle_Yahoo;
-                break;
-            case "linkedin":
-                style = R.style.Lock_Theme_AuthStyle_LinkedIn;
-                break;
-            case "google-oauth2":
-                style = R.style.Lock_Theme_AuthStyle_GoogleOAuth2;
-                break;
-            case "twitter":
-                style = R.style.Lock_Theme_AuthStyle_Twitter;
-                break;
-            case "facebook":
-                style = R.style.Lock_Theme_AuthStyle_Facebook;
-                break;
-            case "box":
-                style = R.style.Lock_Theme_AuthStyle_Box;
-                break;
-            case "evernote":
-                style = R.style.Lock_Theme_AuthStyle_Evernote;
-                break;
-            case "evernote-sandbox":
-                style = R.style.Lock_Theme_AuthStyle_EvernoteSandbox;
-                break;
-            case "exact":
-                style = R.style.Lock_Theme_AuthStyle_Exact;
-                break;
-            case "github":
-                style = R.style.Lock_Theme_AuthStyle_GitHub;
-                break;
-            case "instagram":
-                style = R.style.Lock_Theme_AuthStyle_Instagram;
-                break;
-            case "miicard":
-                style = R.style.Lock_Theme_AuthStyle_MiiCard;
-                break;
-            case "paypal":
-                style = R.style.Lock_Theme_AuthStyle_Paypal;
-                break;
-            case "paypal-sandbox":
-                style = R.style.Lock_Theme_AuthStyle_PaypalSandbox;
-                break;
-            case "salesforce":
-                style = R.style.Lock_Theme_AuthStyle_Salesforce;
-                break;
-            case "salesforce-community":
-                style = R.style.Lock_Theme_AuthStyle_SalesforceCommunity;
-                break;
-            case "salesforce-sandbox":
-                style = R.style.Lock_Theme_AuthStyle_SalesforceSandbox;
-                break;
-            case "soundcloud":
-                style = R.style.Lock_Theme_AuthStyle_SoundCloud;
-                break;
-            case "windowslive":
-                style = R.style.Lock_Theme_AuthStyle_WindowsLive;
-                break;
-            case "yammer":
-                style = R.style.Lock_Theme_AuthStyle_Yammer;
-                break;
-            case "baidu":
-                style = R.style.Lock_Theme_AuthStyle_Baidu;
-                break;
-            case "fitbit":
-                style = R.style.Lock_Theme_AuthStyle_Fitbit;
-                break;
-            case "planningcenter":
-                style = R.style.Lock_Theme_AuthStyle_PlanningCenter;
-                break;
-            case "renren":
-                style = R.style.Lock_Theme_AuthStyle_RenRen;
-                break;
-            case "thecity":
-                style = R.style.Lock_Theme_AuthStyle_TheCity;
-                break;
-            case "thecity-sandbox":
-                style = R.style.Lock_Theme_AuthStyle_TheCitySandbox;
-                break;
-            case "thirtysevensignals":
-                style = R.style.Lock_Theme_AuthStyle_ThirtySevenSignals;
-                break;
-            case "vkontakte":
-                style = R.style.Lock_Theme_AuthStyle_Vkontakte;
-                break;
-            case "weibo":
-                style = R.style.Lock_Theme_AuthStyle_Weibo;
-                break;
-            case "wordpress":
-                style = R.style.Lock_Theme_AuthStyle_Wordpress;
-                break;
-            case "yandex":
-                style = R.style.Lock_Theme_AuthStyle_Yandex;
-                break;
-            case "shopify":
-                style = R.style.Lock_Theme_AuthStyle_Shopify;
-                break;
-            case "dwolla":
-                style = R.style.Lock_Theme_AuthStyle_Dwolla;
-                break;
-        }
+        final Integer style = STRATEGY_STYLES.get(strategyName);
+        return style != null ? style : R.style.Lock_Theme_AuthStyle;
+    }
 
-        return style;
+    private static Map<String, Integer> createStrategyStyles() {
+        final Map<String, Integer> styles = new HashMap<>();
+        styles.put("amazon", R.style.Lock_Theme_AuthStyle_Amazon);
+        styles.put("aol", R.style.Lock_Theme_AuthStyle_AOL);
+        styles.put("bitbucket", R.style.Lock_Theme_AuthStyle_BitBucket);
+        styles.put("dropbox", R.style.Lock_Theme_AuthStyle_Dropbox);
+        styles.put("yahoo", R.style.Lock_Theme_AuthStyle_Yahoo);
+        styles.put("linkedin", R.style.Lock_Theme_AuthStyle_LinkedIn);
+        styles.put("google-oauth2", R.style.Lock_Theme_AuthStyle_GoogleOAuth2);
+        styles.put("twitter", R.style.Lock_Theme_AuthStyle_Twitter);
+        styles.put("facebook", R.style.Lock_Theme_AuthStyle_Facebook);
+        styles.put("box", R.style.Lock_Theme_AuthStyle_Box);
+        styles.put("evernote", R.style.Lock_Theme_AuthStyle_Evernote);
+        styles.put("evernote-sandbox", R.style.Lock_Theme_AuthStyle_EvernoteSandbox);
+        styles.put("exact", R.style.Lock_Theme_AuthStyle_Exact);
+        styles.put("github", R.style.Lock_Theme_AuthStyle_GitHub);
+        styles.put("instagram", R.style.Lock_Theme_AuthStyle_Instagram);
+        styles.put("miicard", R.style.Lock_Theme_AuthStyle_MiiCard);
+        styles.put("paypal", R.style.Lock_Theme_AuthStyle_Paypal);
+        styles.put("paypal-sandbox", R.style.Lock_Theme_AuthStyle_PaypalSandbox);
+        styles.put("salesforce", R.style.Lock_Theme_AuthStyle_Salesforce);
+        styles.put("salesforce-community", R.style.Lock_Theme_AuthStyle_SalesforceCommunity);
+        styles.put("salesforce-sandbox", R.style.Lock_Theme_AuthStyle_SalesforceSandbox);
+        styles.put("soundcloud", R.style.Lock_Theme_AuthStyle_SoundCloud);
+        styles.put("windowslive", R.style.Lock_Theme_AuthStyle_WindowsLive);
+        styles.put("yammer", R.style.Lock_Theme_AuthStyle_Yammer);
+        styles.put("baidu", R.style.Lock_Theme_AuthStyle_Baidu);
+        styles.put("fitbit", R.style.Lock_Theme_AuthStyle_Fitbit);
+        styles.put("planningcenter", R.style.Lock_Theme_AuthStyle_PlanningCenter);
+        styles.put("renren", R.style.Lock_Theme_AuthStyle_RenRen);
+        styles.put("thecity", R.style.Lock_Theme_AuthStyle_TheCity);
+        styles.put("thecity-sandbox", R.style.Lock_Theme_AuthStyle_TheCitySandbox);
+        styles.put("thirtysevensignals", R.style.Lock_Theme_AuthStyle_ThirtySevenSignals);
+        styles.put("vkontakte", R.style.Lock_Theme_AuthStyle_Vkontakte);
+        styles.put("weibo", R.style.Lock_Theme_AuthStyle_Weibo);
+        styles.put("wordpress", R.style.Lock_Theme_AuthStyle_Wordpress);
+        styles.put("yandex", R.style.Lock_Theme_AuthStyle_Yandex);
+        styles.put("shopify", R.style.Lock_Theme_AuthStyle_Shopify);
+        styles.put("dwolla", R.style.Lock_Theme_AuthStyle_Dwolla);
+        return Collections.unmodifiableMap(styles);
     }
 }
@@ -95,11 +95,14 @@ public class CheckableOptionView extends LinearLayout {
     }
 
     /**
-     * Updates the current checked state of this Option widget.
+     * Updates the current checked state of this Option widget. Nothing is redrawn if the state doesn't change.
      *
      * @param checked whether to check or uncheck the Option.
      */
     public void setChecked(boolean checked) {
+        if (this.checked == checked) {
+            return;
+        }
         this.checked = checked;
         updateStatus();
     }
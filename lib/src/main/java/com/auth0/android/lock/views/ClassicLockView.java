@@ -28,6 +28,8 @@ import android.content.Context;
 import android.content.DialogInterface;
 import android.content.Intent;
 import android.net.Uri;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.StringRes;
@@ -44,22 +46,24 @@ import android.widget.ProgressBar;
 import android.widget.TextView;
 
 import com.auth0.android.lock.InitialScreen;
+import com.auth0.android.lock.LockMetrics.LockSpan;
 import com.auth0.android.lock.R;
 import com.auth0.android.lock.events.DatabaseLoginEvent;
 import com.auth0.android.lock.events.DatabaseSignUpEvent;
 import com.auth0.android.lock.events.FetchApplicationEvent;
+import com.auth0.android.lock.events.LockEventBus;
 import com.auth0.android.lock.events.OAuthLoginEvent;
 import com.auth0.android.lock.internal.configuration.AuthMode;
 import com.auth0.android.lock.internal.configuration.Configuration;
 import com.auth0.android.lock.internal.configuration.Theme;
+import com.auth0.android.lock.internal.tracing.LockTrace;
 import com.auth0.android.lock.views.interfaces.LockWidgetForm;
-import com.squareup.otto.Bus;
 
 public class ClassicLockView extends LinearLayout implements LockWidgetForm {
 
     private static final String TAG = ClassicLockView.class.getSimpleName();
     private static final int FORM_INDEX = 2;
-    private final Bus bus;
+    private final LockEventBus bus;
     private final Theme lockTheme;
     private Configuration configuration;
 
@@ -71,15 +75,17 @@ public class ClassicLockView extends LinearLayout implements LockWidgetForm {
     private View bottomBanner;
     private ActionButton actionButton;
     private ProgressBar loadingProgressBar;
+    private MessageQueue.IdleHandler contentPreloader;
 
     private String lastEmailInput;
 
-    public ClassicLockView(Context context, Bus lockBus, Theme lockTheme) {
+    public ClassicLockView(Context context, LockEventBus lockBus, Theme lockTheme) {
         super(context);
         this.bus = lockBus;
         this.configuration = null;
         this.lockTheme = lockTheme;
         showWaitForConfigurationLayout();
+        preloadContentViews();
     }
 
     private void init() {
@@ -101,20 +107,43 @@ public class ClassicLockView extends LinearLayout implements LockWidgetForm {
         addView(loadingProgressBar, wrapHeightParams);
     }
 
-    private void showContentLayout() {
-        LayoutParams wrapHeightParams = new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
-        LayoutParams formLayoutParams = new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT, 1);
+    /**
+     * Creates the views that don't depend on the Configuration once the main thread is idle, while
+     * the Application is being fetched. When the Configuration arrives only the forms are left to create.
+     */
+    private void preloadContentViews() {
+        contentPreloader = new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                contentPreloader = null;
+                if (headerView == null) {
+                    Log.v(TAG, "Preloading the content views while the configuration is fetched");
+                    createContentViews();
+                }
+                return false;
+            }
+        };
+        Looper.myQueue().addIdleHandler(contentPreloader);
+    }
+
+    private void cancelContentPreload() {
+        if (contentPreloader != null) {
+            Looper.myQueue().removeIdleHandler(contentPreloader);
+            contentPreloader = null;
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        cancelContentPreload();
+        super.onDetachedFromWindow();
+    }
 
+    private void createContentViews() {
         headerView = new HeaderView(getContext(), lockTheme);
-        resetHeaderTitle();
-        addView(headerView, wrapHeightParams);
 
         topBanner = inflate(getContext(), R.layout.com_auth0_lock_sso_layout, null);
         topBanner.setVisibility(GONE);
-        addView(topBanner, wrapHeightParams);
-
-        formLayout = new FormLayout(this);
-        addView(formLayout, formLayoutParams);
 
         bottomBanner = inflate(getContext(), R.layout.com_auth0_lock_terms_layout, null);
         bottomBanner.setOnClickListener(new OnClickListener() {
@@ -124,7 +153,6 @@ public class ClassicLockView extends LinearLayout implements LockWidgetForm {
             }
         });
         bottomBanner.setVisibility(GONE);
-        addView(bottomBanner, wrapHeightParams);
 
         actionButton = new ActionButton(getContext(), lockTheme);
         actionButton.setOnClickListener(new OnClickListener() {
@@ -146,6 +174,24 @@ public class ClassicLockView extends LinearLayout implements LockWidgetForm {
                 });
             }
         });
+    }
+
+    private void showContentLayout() {
+        LayoutParams wrapHeightParams = new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+        LayoutParams formLayoutParams = new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT, 1);
+
+        cancelContentPreload();
+        if (headerView == null) {
+            createContentViews();
+        }
+        resetHeaderTitle();
+        addView(headerView, wrapHeightParams);
+        addView(topBanner, wrapHeightParams);
+
+        formLayout = new FormLayout(this);
+        addView(formLayout, formLayoutParams);
+
+        addView(bottomBanner, wrapHeightParams);
         actionButton.showLabel(configuration.useLabeledSubmitButton() || configuration.hideMainScreenTitle());
         addView(actionButton, wrapHeightParams);
 
@@ -170,6 +216,15 @@ public class ClassicLockView extends LinearLayout implements LockWidgetForm {
      * @param configuration the configuration to use on this view, or null if it is missing.
      */
     public void configure(@Nullable Configuration configuration) {
+        final long start = LockTrace.beginSection(LockSpan.CONFIGURE_VIEW);
+        try {
+            applyConfiguration(configuration);
+        } finally {
+            LockTrace.endSection(LockSpan.CONFIGURE_VIEW, start);
+        }
+    }
+
+    private void applyConfiguration(@Nullable Configuration configuration) {
         removeView(loadingProgressBar);
         loadingProgressBar = null;
         this.configuration = configuration;
@@ -38,15 +38,12 @@ import android.widget.TextView;
 
 import com.auth0.android.lock.R;
 import com.auth0.android.lock.adapters.Country;
-import com.auth0.android.lock.utils.LoadCountriesTask;
+import com.auth0.android.lock.utils.CountryCatalog;
 
-import java.util.ArrayList;
 import java.util.Locale;
-import java.util.Map;
 
 public class CountryCodeSelectorView extends LinearLayout {
     private static final String TAG = CountryCodeSelectorView.class.getSimpleName();
-    private LoadCountriesTask task;
     private Country selectedCountry;
 
     private ImageView icon;
@@ -75,7 +72,7 @@ public class CountryCodeSelectorView extends LinearLayout {
         chevron = (ImageView) findViewById(R.id.com_auth0_lock_chevron);
         countryNameTextView = (TextView) findViewById(R.id.com_auth0_lock_country_name);
         countryCodeTextView = (TextView) findViewById(R.id.com_auth0_lock_country_code);
-        prepareTask();
+        setupDefaultCountry();
         setupBackground();
     }
 
@@ -93,28 +90,12 @@ public class CountryCodeSelectorView extends LinearLayout {
         ViewUtils.setBackground(parent, gd);
     }
 
-    private void prepareTask() {
-        task = new LoadCountriesTask(getContext()) {
-            @Override
-            protected void onPostExecute(Map<String, String> result) {
-                task = null;
-                String defaultCountry = Locale.getDefault().getCountry();
-                Country country = new Country(getContext().getString(R.string.com_auth0_lock_default_country_name_fallback), getContext().getString(R.string.com_auth0_lock_default_country_code_fallback));
-                if (result != null) {
-                    final ArrayList<String> names = new ArrayList<>(result.keySet());
-                    for (String name : names) {
-                        if (name.equalsIgnoreCase(defaultCountry)) {
-                            country = new Country(name, result.get(name));
-                            break;
-                        }
-                    }
-                }
-                if (selectedCountry == null) {
-                    setSelectedCountry(country);
-                }
-            }
-        };
-        task.execute(LoadCountriesTask.COUNTRIES_JSON_FILE);
+    private void setupDefaultCountry() {
+        Country country = CountryCatalog.getInstance().findByIsoCode(Locale.getDefault().getCountry());
+        if (country == null) {
+            country = new Country(getContext().getString(R.string.com_auth0_lock_default_country_name_fallback), getContext().getString(R.string.com_auth0_lock_default_country_code_fallback));
+        }
+        setSelectedCountry(country);
     }
 
     /**
@@ -137,13 +118,4 @@ public class CountryCodeSelectorView extends LinearLayout {
     public Country getSelectedCountry() {
         return selectedCountry;
     }
-
-    @Override
-    protected void onDetachedFromWindow() {
-        if (task != null) {
-            task.cancel(true);
-            task = null;
-        }
-        super.onDetachedFromWindow();
-    }
 }
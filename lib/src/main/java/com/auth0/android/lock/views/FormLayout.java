@@ -25,6 +25,8 @@
 package com.auth0.android.lock.views;
 
 import android.content.Context;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.content.ContextCompat;
@@ -47,8 +49,6 @@ import com.auth0.android.lock.views.interfaces.LockWidgetForm;
 
 public class FormLayout extends RelativeLayout implements ModeSelectionView.ModeSelectedListener, IdentityListener {
     private static final String TAG = FormLayout.class.getSimpleName();
-    private static final int SINGLE_FORM_POSITION = 0;
-    private static final int MULTIPLE_FORMS_POSITION = 2;
 
     private final LockWidgetForm lockWidget;
     private boolean showDatabase;
@@ -61,7 +61,9 @@ public class FormLayout extends RelativeLayout implements ModeSelectionView.Mode
     private TextView orSeparatorMessage;
 
     private LinearLayout formsHolder;
+    private View currentForm;
     private ModeSelectionView modeSelectionView;
+    private MessageQueue.IdleHandler formPreloader;
 
     private String lastEmailInput;
 
@@ -128,11 +130,43 @@ public class FormLayout extends RelativeLayout implements ModeSelectionView.Mode
 
         if (modeSelectionView != null) {
             modeSelectionView.setSelectedMode(mode);
+            preloadOtherForm();
         } else {
             changeFormMode(mode);
         }
     }
 
+    /**
+     * Creates the form of the mode that is not displayed once the main thread is idle, so that
+     * the first switch between the LogIn/SignUp tabs doesn't need to inflate it.
+     */
+    private void preloadOtherForm() {
+        formPreloader = new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                formPreloader = null;
+                if (lastFormMode == AuthMode.LOG_IN && signUpForm == null) {
+                    signUpForm = new SignUpFormView(lockWidget);
+                    addHiddenForm(signUpForm);
+                } else if (lastFormMode == AuthMode.SIGN_UP && logInForm == null) {
+                    logInForm = new LogInFormView(lockWidget);
+                    addHiddenForm(logInForm);
+                }
+                return false;
+            }
+        };
+        Looper.myQueue().addIdleHandler(formPreloader);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        if (formPreloader != null) {
+            Looper.myQueue().removeIdleHandler(formPreloader);
+            formPreloader = null;
+        }
+        super.onDetachedFromWindow();
+    }
+
     private void addSocialLayout() {
         int style = lockWidget.getConfiguration().getSocialButtonStyle();
         boolean formContainsFields = showDatabase || showEnterprise;
@@ -201,46 +235,58 @@ public class FormLayout extends RelativeLayout implements ModeSelectionView.Mode
     }
 
     private void showSignUpForm() {
-        removePreviousForm();
-
         if (signUpForm == null) {
             signUpForm = new SignUpFormView(lockWidget);
         }
         signUpForm.setLastEmail(lastEmailInput);
         signUpForm.clearEmptyFieldsError();
-        formsHolder.addView(signUpForm);
+        showForm(signUpForm);
     }
 
     private void showLogInForm() {
-        removePreviousForm();
-
         if (logInForm == null) {
             logInForm = new LogInFormView(lockWidget);
         }
         logInForm.setLastEmail(lastEmailInput);
         logInForm.clearEmptyFieldsError();
-        formsHolder.addView(logInForm);
+        showForm(logInForm);
     }
 
     private void showCustomFieldsForm(@NonNull DatabaseSignUpEvent event) {
-        removePreviousForm();
-
         if (customFieldsForm == null) {
             customFieldsForm = new CustomFieldsFormView(lockWidget, event.getEmail(), event.getPassword(), event.getUsername());
         }
-        formsHolder.addView(customFieldsForm);
+        showForm(customFieldsForm);
     }
 
-    private void removePreviousForm() {
-        View existingForm = getExistingForm();
-        if (existingForm != null) {
-            formsHolder.removeView(existingForm);
+    /**
+     * Displays the given form and hides the previous one. Forms are kept in the holder once added,
+     * so switching back to them doesn't inflate or attach them again and their input is preserved.
+     *
+     * @param form the form to display
+     */
+    private void showForm(@NonNull View form) {
+        if (currentForm == form) {
+            return;
+        }
+        if (currentForm != null) {
+            currentForm.setVisibility(GONE);
+        }
+        form.setVisibility(VISIBLE);
+        if (form.getParent() == null) {
+            formsHolder.addView(form);
         }
+        currentForm = form;
+    }
+
+    private void addHiddenForm(@NonNull View form) {
+        form.setVisibility(GONE);
+        formsHolder.addView(form);
     }
 
     @Nullable
     private View getExistingForm() {
-        return formsHolder == null ? null : formsHolder.getChildAt(formsHolder.getChildCount() == 1 ? SINGLE_FORM_POSITION : MULTIPLE_FORMS_POSITION);
+        return currentForm;
     }
 
     /**
@@ -0,0 +1,102 @@
+/*
+ * InputValidator.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.views;
+
+import android.support.annotation.NonNull;
+import android.util.Patterns;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Validates the text of the inputs against the patterns of each DataType. The patterns are compiled once
+ * and every instance reuses a single Matcher per pattern, so the text can be validated on each keystroke
+ * without converting it to a String. Instances are not thread safe and must be used from the main thread.
+ */
+final class InputValidator {
+
+    private static final Pattern USERNAME_PATTERN = Pattern.compile(ValidatedInputView.USERNAME_REGEX);
+    private static final Pattern PHONE_NUMBER_PATTERN = Pattern.compile(ValidatedInputView.PHONE_NUMBER_REGEX);
+    private static final Pattern CODE_PATTERN = Pattern.compile(ValidatedInputView.CODE_REGEX);
+    private static final Pattern EMAIL_PATTERN = Patterns.EMAIL_ADDRESS;
+
+    private final Matcher usernameMatcher = USERNAME_PATTERN.matcher("");
+    private final Matcher phoneNumberMatcher = PHONE_NUMBER_PATTERN.matcher("");
+    private final Matcher codeMatcher = CODE_PATTERN.matcher("");
+    private final Matcher emailMatcher = EMAIL_PATTERN.matcher("");
+
+    boolean isEmail(@NonNull CharSequence text, int start, int end) {
+        return matches(emailMatcher, text, start, end);
+    }
+
+    boolean isUsername(@NonNull CharSequence text, int start, int end) {
+        return matches(usernameMatcher, text, start, end);
+    }
+
+    boolean isPhoneNumber(@NonNull CharSequence text, int start, int end) {
+        return matches(phoneNumberMatcher, text, start, end);
+    }
+
+    boolean isCode(@NonNull CharSequence text, int start, int end) {
+        return matches(codeMatcher, text, start, end);
+    }
+
+    private static boolean matches(Matcher matcher, CharSequence text, int start, int end) {
+        final boolean matches = matcher.reset(text).region(start, end).matches();
+        //Don't keep a reference to the text once it's validated
+        matcher.reset("");
+        return matches;
+    }
+
+    /**
+     * Finds where the text starts once the leading whitespace is skipped, the same way String#trim does.
+     *
+     * @param text the text to look at.
+     * @return the index of the first non whitespace character, or the text length if there is none.
+     */
+    static int trimmedStart(@NonNull CharSequence text) {
+        final int length = text.length();
+        int start = 0;
+        while (start < length && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Finds where the text ends once the trailing whitespace is skipped, the same way String#trim does.
+     *
+     * @param text  the text to look at.
+     * @param start the index returned by {@link #trimmedStart(CharSequence)}.
+     * @return the index after the last non whitespace character, or the start if there is none.
+     */
+    static int trimmedEnd(@NonNull CharSequence text, int start) {
+        int end = text.length();
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
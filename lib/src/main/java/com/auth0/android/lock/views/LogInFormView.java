@@ -59,7 +59,6 @@ public class LogInFormView extends FormView implements TextView.OnEditorActionLi
     private View changePasswordBtn;
     private TextView topMessage;
     private OAuthConnection currentConnection;
-    private String currentUsername;
     private EnterpriseConnectionMatcher domainParser;
     private boolean fallbackToDatabase;
     private boolean corporateSSO;
@@ -129,15 +128,13 @@ public class LogInFormView extends FormView implements TextView.OnEditorActionLi
 
             @Override
             public void afterTextChanged(Editable s) {
-                String text = s.toString();
-                if (text.isEmpty()) {
+                if (s.length() == 0) {
                     return;
                 }
 
-                currentConnection = domainParser.parse(text);
-                currentUsername = domainParser.extractUsername(text);
+                currentConnection = domainParser.parseIncrementally(s);
                 if (currentConnection != null) {
-                    Log.v(TAG, String.format("Matched results are connection %s with username %s", currentConnection, currentUsername));
+                    Log.v(TAG, String.format("Matched results are connection %s", currentConnection));
                     passwordInput.setVisibility(GONE);
                     showSSOMessage(true);
                 } else if (fallbackToDatabase) {
@@ -212,6 +209,7 @@ public class LogInFormView extends FormView implements TextView.OnEditorActionLi
         emailInput.setVisibility(GONE);
         passwordInput.setVisibility(View.VISIBLE);
         usernameInput.setVisibility(VISIBLE);
+        final String currentUsername = domainParser.extractUsername(emailInput.getText());
         if (currentUsername != null && !currentUsername.isEmpty()) {
             usernameInput.setText(currentUsername);
         }
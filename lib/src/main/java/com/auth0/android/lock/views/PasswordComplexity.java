@@ -0,0 +1,190 @@
+/*
+ * PasswordComplexity.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.views;
+
+import android.support.annotation.Nullable;
+
+import com.auth0.android.lock.internal.configuration.PasswordStrength;
+
+/**
+ * Evaluates passwords against the requirements of a {@link PasswordStrength} policy. The character
+ * classes and the runs of identical characters are found in a single pass over the password.
+ *
+ * @see "https://auth0.com/docs/connections/database/password-strength"
+ */
+final class PasswordComplexity {
+
+    /**
+     * The password contains at least one lowercase letter (a-z).
+     */
+    public static final int LOWERCASE = 1;
+    /**
+     * The password contains at least one uppercase letter (A-Z).
+     */
+    public static final int UPPERCASE = 1 << 1;
+    /**
+     * The password contains at least one number (0-9).
+     */
+    public static final int NUMERIC = 1 << 2;
+    /**
+     * The password contains at least one special character, that is a space or any ASCII symbol.
+     */
+    public static final int SPECIAL = 1 << 3;
+    /**
+     * The password contains more than {@link #MAX_IDENTICAL_CHARACTERS} identical characters in a row.
+     */
+    public static final int IDENTICAL = 1 << 4;
+
+    public static final int MAX_IDENTICAL_CHARACTERS = 2;
+    public static final int MAX_LENGTH = 128;
+    private static final int MIN_LENGTH_EXCELLENT = 10;
+    private static final int MIN_LENGTH_GOOD = 8;
+    private static final int MIN_LENGTH_FAIR = 8;
+    private static final int MIN_LENGTH_LOW = 6;
+    private static final int MIN_LENGTH_NONE = 1;
+
+    @PasswordStrength
+    private final int strength;
+
+    public PasswordComplexity(@PasswordStrength int strength) {
+        this.strength = strength;
+    }
+
+    /**
+     * Getter for the policy level this instance evaluates.
+     *
+     * @return the password strength policy.
+     */
+    @PasswordStrength
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Getter for the minimum length a password must have to comply with this policy.
+     *
+     * @return the minimum length.
+     */
+    public int getMinimumLength() {
+        switch (strength) {
+            case PasswordStrength.EXCELLENT:
+                return MIN_LENGTH_EXCELLENT;
+            case PasswordStrength.GOOD:
+                return MIN_LENGTH_GOOD;
+            case PasswordStrength.FAIR:
+                return MIN_LENGTH_FAIR;
+            case PasswordStrength.LOW:
+                return MIN_LENGTH_LOW;
+            default:
+            case PasswordStrength.NONE:
+                return MIN_LENGTH_NONE;
+        }
+    }
+
+    /**
+     * Checks if a password of the given length complies with the length requirements of this policy.
+     *
+     * @param length the password length.
+     * @return whether the length is between the minimum length and {@link #MAX_LENGTH}.
+     */
+    public boolean hasValidLength(int length) {
+        return length >= getMinimumLength() && length <= MAX_LENGTH;
+    }
+
+    /**
+     * Checks that all the requirements of this policy are met.
+     *
+     * @param password the password to validate.
+     * @return whether the given password complies with this policy or not.
+     */
+    public boolean isValid(@Nullable CharSequence password) {
+        return password != null && isValid(classify(password), password.length());
+    }
+
+    /**
+     * Checks that all the requirements of this policy are met by a password with the given characteristics.
+     *
+     * @param characteristics the characteristics of the password, as returned by {@link #classify(CharSequence)}.
+     * @param length          the password length.
+     * @return whether a password like that complies with this policy or not.
+     */
+    public boolean isValid(int characteristics, int length) {
+        if (!hasValidLength(length)) {
+            return false;
+        }
+        switch (strength) {
+            case PasswordStrength.EXCELLENT:
+                return (characteristics & IDENTICAL) == 0 && countCharacterClasses(characteristics) >= 3;
+            case PasswordStrength.GOOD:
+                return countCharacterClasses(characteristics) >= 3;
+            case PasswordStrength.FAIR:
+                final int required = LOWERCASE | UPPERCASE | NUMERIC;
+                return (characteristics & required) == required;
+            case PasswordStrength.LOW:
+            case PasswordStrength.NONE:
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Finds the character classes present in the password, and whether it has runs of identical characters,
+     * in a single pass.
+     *
+     * @param password the password to look at.
+     * @return the characteristics found, as a combination of {@link #LOWERCASE}, {@link #UPPERCASE},
+     * {@link #NUMERIC}, {@link #SPECIAL} and {@link #IDENTICAL}.
+     */
+    public static int classify(@Nullable CharSequence password) {
+        if (password == null) {
+            return 0;
+        }
+        int characteristics = 0;
+        int identicalCount = 0;
+        char previous = 0;
+        for (int i = 0, length = password.length(); i < length; i++) {
+            final char c = password.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                characteristics |= LOWERCASE;
+            } else if (c >= 'A' && c <= 'Z') {
+                characteristics |= UPPERCASE;
+            } else if (c >= '0' && c <= '9') {
+                characteristics |= NUMERIC;
+            } else if (c >= ' ' && c <= '~') {
+                characteristics |= SPECIAL;
+            }
+            identicalCount = i > 0 && c == previous ? identicalCount + 1 : 1;
+            if (identicalCount > MAX_IDENTICAL_CHARACTERS) {
+                characteristics |= IDENTICAL;
+            }
+            previous = c;
+        }
+        return characteristics;
+    }
+
+    private static int countCharacterClasses(int characteristics) {
+        return Integer.bitCount(characteristics & (LOWERCASE | UPPERCASE | NUMERIC | SPECIAL));
+    }
+}
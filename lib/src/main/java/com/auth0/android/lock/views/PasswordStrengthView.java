@@ -25,36 +25,21 @@
 package com.auth0.android.lock.views;
 
 import android.content.Context;
-import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import com.auth0.android.lock.R;
 import com.auth0.android.lock.internal.configuration.PasswordStrength;
 
-import java.util.regex.Pattern;
-
 
 public class PasswordStrengthView extends LinearLayout {
 
     private static final String TAG = PasswordStrengthView.class.getSimpleName();
 
-    private static final int MAX_IDENTICAL_CHARACTERS = 2;
-    private static final int MAX_LENGTH = 128;
-    private static final int MIN_LENGTH_EXCELLENT = 10;
-    private static final int MIN_LENGTH_GOOD = 8;
-    private static final int MIN_LENGTH_FAIR = 8;
-    private static final int MIN_LENGTH_LOW = 6;
-    private static final int MIN_LENGTH_NONE = 1;
-
-    private final Pattern patternUppercase = Pattern.compile("^.*[A-Z]+.*$");
-    private final Pattern patternLowercase = Pattern.compile("^.*[a-z]+.*$");
-    private final Pattern patternSpecial = Pattern.compile("^.*[ !\"#\\$%&'\\(\\)\\*\\+,-\\./:;<=>\\?@\\[\\\\\\]\\^_`{\\|}~]+.*$");
-    private final Pattern patternNumeric = Pattern.compile("^.*[0-9]+.*$");
-    private final Pattern patternIdentical = Pattern.compile("^.*(?=(.)\\1{" + MAX_IDENTICAL_CHARACTERS + ",}).*$");
-
     @PasswordStrength
     private int strength;
+    private PasswordComplexity complexity;
 
     private TextView titleAtLeast;
     private CheckableOptionView optionLength;
@@ -103,7 +88,7 @@ public class PasswordStrengthView extends LinearLayout {
 
         titleAtLeast.setVisibility(strength == PasswordStrength.FAIR || strength == PasswordStrength.LOW ? GONE : VISIBLE);
         String lengthRequirements = getContext().getResources().getString(R.string.com_auth0_lock_password_strength_chars_length);
-        optionLength.setText(String.format(lengthRequirements, getMinimumLength()));
+        optionLength.setText(String.format(lengthRequirements, complexity.getMinimumLength()));
 
         optionLowercase.setVisibility(strength == PasswordStrength.LOW ? GONE : VISIBLE);
         optionUppercase.setVisibility(strength == PasswordStrength.LOW ? GONE : VISIBLE);
@@ -112,69 +97,13 @@ public class PasswordStrengthView extends LinearLayout {
         optionIdenticalCharacters.setVisibility(strength == PasswordStrength.EXCELLENT ? VISIBLE : GONE);
     }
 
-    private boolean hasIdenticalCharacters(@NonNull String input) {
-        boolean v = !patternIdentical.matcher(input).matches();
-        optionIdenticalCharacters.setChecked(v);
-        return v;
-    }
-
-    private boolean hasUppercaseCharacters(@NonNull String input) {
-        boolean v = patternUppercase.matcher(input).matches();
-        optionUppercase.setChecked(v);
-        return v;
-    }
-
-    private boolean hasLowercaseCharacters(@NonNull String input) {
-        boolean v = patternLowercase.matcher(input).matches();
-        optionLowercase.setChecked(v);
-        return v;
-    }
-
-    private boolean hasNumericCharacters(@NonNull String input) {
-        boolean v = patternNumeric.matcher(input).matches();
-        optionNumeric.setChecked(v);
-        return v;
-    }
-
-    private boolean hasSpecialCharacters(@NonNull String input) {
-        boolean v = patternSpecial.matcher(input).matches();
-        optionSpecialCharacters.setChecked(v);
-        return v;
-    }
-
-    private boolean hasMinimumLength(@NonNull String input, int length) {
-        boolean v = input.length() >= length && input.length() <= MAX_LENGTH;
-        optionLength.setChecked(v);
-        return v;
-    }
-
-    private boolean atLeastThree(boolean a, boolean b, boolean c, boolean d) {
-        boolean all = a && b && c && d;
-        boolean one = a && b && (c ^ d);
-        boolean two = b && c && (d ^ a);
-        boolean three = c && d && (a ^ b);
-
-        return all || one || two || three;
-    }
-
-    private boolean allThree(boolean a, boolean b, boolean c) {
-        return a && b && c;
-    }
-
-    private int getMinimumLength() {
-        switch (strength) {
-            case PasswordStrength.EXCELLENT:
-                return MIN_LENGTH_EXCELLENT;
-            case PasswordStrength.GOOD:
-                return MIN_LENGTH_GOOD;
-            case PasswordStrength.FAIR:
-                return MIN_LENGTH_FAIR;
-            case PasswordStrength.LOW:
-                return MIN_LENGTH_LOW;
-            default:
-            case PasswordStrength.NONE:
-                return MIN_LENGTH_NONE;
-        }
+    private void updateOptions(int characteristics, boolean validLength) {
+        optionLength.setChecked(validLength);
+        optionLowercase.setChecked((characteristics & PasswordComplexity.LOWERCASE) != 0);
+        optionUppercase.setChecked((characteristics & PasswordComplexity.UPPERCASE) != 0);
+        optionNumeric.setChecked((characteristics & PasswordComplexity.NUMERIC) != 0);
+        optionSpecialCharacters.setChecked((characteristics & PasswordComplexity.SPECIAL) != 0);
+        optionIdenticalCharacters.setChecked((characteristics & PasswordComplexity.IDENTICAL) == 0);
     }
 
     /**
@@ -184,6 +113,7 @@ public class PasswordStrengthView extends LinearLayout {
      */
     public void setStrength(@PasswordStrength int strength) {
         this.strength = strength;
+        this.complexity = new PasswordComplexity(strength);
         showPolicy();
     }
 
@@ -193,28 +123,14 @@ public class PasswordStrengthView extends LinearLayout {
      * @param password the current password to validate
      * @return whether the given password complies with this password policy or not.
      */
-    public boolean isValid(String password) {
+    public boolean isValid(@Nullable CharSequence password) {
         if (password == null) {
             return false;
         }
 
-        boolean length = hasMinimumLength(password, getMinimumLength());
-        boolean other = true;
-        switch (strength) {
-            case PasswordStrength.EXCELLENT:
-                boolean atLeast = atLeastThree(hasLowercaseCharacters(password), hasUppercaseCharacters(password), hasNumericCharacters(password), hasSpecialCharacters(password));
-                other = hasIdenticalCharacters(password) && atLeast;
-                break;
-            case PasswordStrength.GOOD:
-                other = atLeastThree(hasLowercaseCharacters(password), hasUppercaseCharacters(password), hasNumericCharacters(password), hasSpecialCharacters(password));
-                break;
-            case PasswordStrength.FAIR:
-                other = allThree(hasLowercaseCharacters(password), hasUppercaseCharacters(password), hasNumericCharacters(password));
-                break;
-            case PasswordStrength.LOW:
-            case PasswordStrength.NONE:
-        }
-        return length && other;
+        final int characteristics = PasswordComplexity.classify(password);
+        updateOptions(characteristics, complexity.hasValidLength(password.length()));
+        return complexity.isValid(characteristics, password.length());
     }
 
 }
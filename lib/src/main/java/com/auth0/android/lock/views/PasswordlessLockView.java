@@ -38,20 +38,22 @@ import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 
+import com.auth0.android.lock.LockMetrics.LockSpan;
 import com.auth0.android.lock.R;
 import com.auth0.android.lock.adapters.Country;
 import com.auth0.android.lock.events.CountryCodeChangeEvent;
 import com.auth0.android.lock.events.FetchApplicationEvent;
+import com.auth0.android.lock.events.LockEventBus;
 import com.auth0.android.lock.events.OAuthLoginEvent;
 import com.auth0.android.lock.internal.configuration.Configuration;
 import com.auth0.android.lock.internal.configuration.Theme;
+import com.auth0.android.lock.internal.tracing.LockTrace;
 import com.auth0.android.lock.views.interfaces.LockWidgetPasswordless;
-import com.squareup.otto.Bus;
 
 public class PasswordlessLockView extends LinearLayout implements LockWidgetPasswordless, View.OnClickListener {
 
     private static final String TAG = PasswordlessLockView.class.getSimpleName();
-    private final Bus bus;
+    private final LockEventBus bus;
     private final Theme lockTheme;
     private Configuration configuration;
     private PasswordlessFormLayout formLayout;
@@ -59,7 +61,7 @@ public class PasswordlessLockView extends LinearLayout implements LockWidgetPass
     private ProgressBar loadingProgressBar;
     private HeaderView headerView;
 
-    public PasswordlessLockView(Context context, Bus lockBus, Theme lockTheme) {
+    public PasswordlessLockView(Context context, LockEventBus lockBus, Theme lockTheme) {
         super(context);
         this.bus = lockBus;
         this.lockTheme = lockTheme;
@@ -107,6 +109,15 @@ public class PasswordlessLockView extends LinearLayout implements LockWidgetPass
     }
 
     public void configure(@Nullable Configuration configuration) {
+        final long start = LockTrace.beginSection(LockSpan.CONFIGURE_VIEW);
+        try {
+            applyConfiguration(configuration);
+        } finally {
+            LockTrace.endSection(LockSpan.CONFIGURE_VIEW, start);
+        }
+    }
+
+    private void applyConfiguration(@Nullable Configuration configuration) {
         removeView(loadingProgressBar);
         loadingProgressBar = null;
         this.configuration = configuration;
@@ -70,10 +70,11 @@ class SocialButton extends RelativeLayout {
         if (!smallSize) {
             final String prefixFormat = getResources().getString(mode == AuthMode.LOG_IN ? R.string.com_auth0_lock_social_log_in : R.string.com_auth0_lock_social_sign_up);
             title.setText(String.format(prefixFormat, name));
-            ShapeDrawable rightBackground = ViewUtils.getRoundedBackground(getResources(), backgroundColor, ViewUtils.Corners.ONLY_RIGHT);
+            ShapeDrawable rightBackground = (ShapeDrawable) ViewUtils.getRoundedBackground(getResources(), backgroundColor, ViewUtils.Corners.ONLY_RIGHT).mutate();
             rightBackground.getPaint().setAlpha(230);
             ViewUtils.setBackground(title, rightBackground);
         } else {
+            leftBackground = (ShapeDrawable) leftBackground.mutate();
             leftBackground.getPaint().setAlpha(230);
         }
 
@@ -48,7 +48,9 @@ import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
+import com.auth0.android.lock.LockMetrics.LockSpan;
 import com.auth0.android.lock.R;
+import com.auth0.android.lock.internal.tracing.LockTrace;
 import com.auth0.android.lock.views.interfaces.IdentityListener;
 
 import java.lang.annotation.Retention;
@@ -81,6 +83,7 @@ public class ValidatedInputView extends LinearLayout {
     private EditText input;
     private ImageView icon;
     private IdentityListener identityListener;
+    private final InputValidator validator = new InputValidator();
     private int inputIcon;
     private boolean hasValidInput;
 
@@ -163,21 +166,26 @@ public class ValidatedInputView extends LinearLayout {
         public void afterTextChanged(Editable s) {
             runValidation();
             if (dataType == EMAIL || dataType == USERNAME_OR_EMAIL) {
-                notifyEmailChanged(s.toString());
+                notifyEmailChanged(s);
             }
         }
 
         private void runValidation() {
+            final long start = LockTrace.beginSection(LockSpan.VALIDATE_INPUT);
             hasValidInput = validate(false);
+            LockTrace.endSection(LockSpan.VALIDATE_INPUT, start);
             Handler handler = getHandler();
             handler.removeCallbacks(uiUpdater);
             handler.postDelayed(uiUpdater, VALIDATION_DELAY);
         }
 
-        private void notifyEmailChanged(String emailInput) {
-            boolean validOrEmptyEmail = emailInput.isEmpty() || emailInput.matches(EMAIL_REGEX);
-            if (identityListener != null && validOrEmptyEmail) {
-                identityListener.onEmailChanged(emailInput);
+        private void notifyEmailChanged(Editable emailInput) {
+            if (identityListener == null) {
+                return;
+            }
+            boolean validOrEmptyEmail = emailInput.length() == 0 || validator.isEmail(emailInput, 0, emailInput.length());
+            if (validOrEmptyEmail) {
+                identityListener.onEmailChanged(emailInput.toString());
             }
         }
     };
@@ -325,6 +333,15 @@ public class ValidatedInputView extends LinearLayout {
         return dataType;
     }
 
+    /**
+     * Getter for the InputValidator shared by the validations of this field.
+     *
+     * @return the InputValidator of this view.
+     */
+    InputValidator getValidator() {
+        return validator;
+    }
+
     /**
      * Validates the input data and updates the icon. DataType must be set.
      * Empty fields are considered valid.
@@ -345,8 +362,11 @@ public class ValidatedInputView extends LinearLayout {
      */
     protected boolean validate(boolean validateEmptyFields) {
         boolean isValid = false;
-        String value = dataType == PASSWORD ? getText() : getText().trim();
-        if (!validateEmptyFields && value.isEmpty()) {
+        final CharSequence value = getInputText();
+        final int start = dataType == PASSWORD ? 0 : InputValidator.trimmedStart(value);
+        final int end = dataType == PASSWORD ? value.length() : InputValidator.trimmedEnd(value, start);
+        final int length = end - start;
+        if (!validateEmptyFields && length == 0) {
             return true;
         }
 
@@ -355,25 +375,25 @@ public class ValidatedInputView extends LinearLayout {
             case NUMBER:
             case PASSWORD:
             case NON_EMPTY_USERNAME:
-                isValid = !value.isEmpty();
+                isValid = length > 0;
                 break;
             case EMAIL:
-                isValid = value.matches(EMAIL_REGEX);
+                isValid = validator.isEmail(value, start, end);
                 break;
             case USERNAME:
-                isValid = value.matches(USERNAME_REGEX) && value.length() >= 1 && value.length() <= 15;
+                isValid = validator.isUsername(value, start, end) && length >= 1 && length <= 15;
                 break;
             case USERNAME_OR_EMAIL:
-                final boolean validEmail = value.matches(EMAIL_REGEX);
-                final boolean validUsername = value.matches(USERNAME_REGEX) && value.length() >= 1 && value.length() <= 15;
+                final boolean validEmail = validator.isEmail(value, start, end);
+                final boolean validUsername = validator.isUsername(value, start, end) && length >= 1 && length <= 15;
                 isValid = validEmail || validUsername;
                 break;
             case MOBILE_PHONE:
             case PHONE_NUMBER:
-                isValid = value.matches(PHONE_NUMBER_REGEX);
+                isValid = validator.isPhoneNumber(value, start, end);
                 break;
             case MFA_CODE:
-                isValid = value.matches(CODE_REGEX);
+                isValid = validator.isCode(value, start, end);
                 break;
         }
 
@@ -381,6 +401,16 @@ public class ValidatedInputView extends LinearLayout {
         return isValid;
     }
 
+    /**
+     * Gets the current text from the input field without copying it. The returned text changes as the user types
+     * and must not be kept.
+     *
+     * @return the current text
+     */
+    CharSequence getInputText() {
+        return input.getText();
+    }
+
     /**
      * Gets the current text from the input field.
      *
@@ -40,10 +40,10 @@ public class ValidatedPasswordInputView extends ValidatedInputView {
 
     @Override
     protected boolean validate(boolean validateEmptyFields) {
-        String value = getText();
+        final CharSequence value = getInputText();
         //Run strength validation to update ui
         final boolean valid = strengthView.isValid(value);
-        if (!validateEmptyFields && value.isEmpty()) {
+        if (!validateEmptyFields && value.length() == 0) {
             return true;
         }
 
@@ -100,18 +100,21 @@ public class ValidatedUsernameInputView extends ValidatedInputView {
 
     @Override
     protected boolean validate(boolean validateEmptyFields) {
-        final String value = getText().trim();
-        if (!validateEmptyFields && value.isEmpty()) {
+        final CharSequence value = getInputText();
+        final int start = InputValidator.trimmedStart(value);
+        final int end = InputValidator.trimmedEnd(value, start);
+        final int length = end - start;
+        if (!validateEmptyFields && length == 0) {
             return true;
         }
-        boolean validUsernameLength = value.length() >= minUsernameLength && value.length() <= maxUsernameLength;
+        boolean validUsernameLength = length >= minUsernameLength && length <= maxUsernameLength;
 
         if (getDataType() == DataType.USERNAME) {
-            return validUsernameLength && !isCustomDatabase ? value.matches(USERNAME_REGEX) : validUsernameLength;
+            return validUsernameLength && !isCustomDatabase ? getValidator().isUsername(value, start, end) : validUsernameLength;
         }
         if (getDataType() == DataType.USERNAME_OR_EMAIL) {
             //This case is only used in the LogInFormView, avoid validating against username regex
-            final boolean validEmail = value.matches(EMAIL_REGEX);
+            final boolean validEmail = getValidator().isEmail(value, start, end);
             return validEmail || validUsernameLength;
         }
         return super.validate(validateEmptyFields);
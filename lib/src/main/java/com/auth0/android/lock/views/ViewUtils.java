@@ -34,6 +34,7 @@ import android.support.annotation.ColorInt;
 import android.support.annotation.IntDef;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
 import android.util.TypedValue;
 import android.view.View;
 import android.view.ViewGroup;
@@ -50,6 +51,9 @@ import static com.auth0.android.lock.views.ViewUtils.Corners.ONLY_RIGHT;
 
 abstract class ViewUtils {
 
+    private static final int ROUNDED_BACKGROUNDS_CACHE_SIZE = 32;
+    private static final LruCache<Long, Drawable.ConstantState> roundedBackgrounds = new LruCache<>(ROUNDED_BACKGROUNDS_CACHE_SIZE);
+
     /**
      * Used by the getRoundedBackground method. It defines which corners to set as rounded
      * in the drawable.
@@ -75,6 +79,8 @@ abstract class ViewUtils {
 
     /**
      * Generates a rounded drawable with the given background color and the specified corners.
+     * Drawables with the same color, corners and radius share their state, so call
+     * {@link Drawable#mutate()} on the result before changing it.
      *
      * @param resources the context's current resources.
      * @param color     the color to use as background.
@@ -83,6 +89,12 @@ abstract class ViewUtils {
      */
     static ShapeDrawable getRoundedBackground(Resources resources, @ColorInt int color, @Corners int corners) {
         int r = resources.getDimensionPixelSize(R.dimen.com_auth0_lock_widget_corner_radius);
+        final Long key = ((long) color << 32) | ((long) r << 2) | corners;
+        final Drawable.ConstantState cachedState = roundedBackgrounds.get(key);
+        if (cachedState != null) {
+            return (ShapeDrawable) cachedState.newDrawable(resources);
+        }
+
         float[] outerR = new float[0];
         switch (corners) {
             case ONLY_LEFT:
@@ -99,6 +111,7 @@ abstract class ViewUtils {
         RoundRectShape rr = new RoundRectShape(outerR, null, null);
         ShapeDrawable drawable = new ShapeDrawable(rr);
         drawable.getPaint().setColor(color);
+        roundedBackgrounds.put(key, drawable.getConstantState());
         return drawable;
     }
 
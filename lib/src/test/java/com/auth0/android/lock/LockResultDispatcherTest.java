@@ -0,0 +1,206 @@
+package com.auth0.android.lock;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Looper;
+import android.support.v4.content.LocalBroadcastManager;
+
+import com.auth0.android.lock.LockCallback.LockEvent;
+import com.auth0.android.lock.LockMetrics.LockSpan;
+import com.auth0.android.lock.internal.configuration.Options;
+import com.auth0.android.lock.internal.tracing.LockTrace;
+import com.auth0.android.lock.utils.LockException;
+import com.auth0.android.lock.utils.MockLockCallback;
+import com.auth0.android.result.Credentials;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = com.auth0.android.lock.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class LockResultDispatcherTest {
+
+    private Context context;
+    private BroadcastReceiver receiver;
+    private LockResultDispatcher.Listener listener;
+    private Options options;
+    private String token;
+    private Credentials credentials;
+
+    @Before
+    public void setUp() throws Exception {
+        context = RuntimeEnvironment.application;
+        receiver = mock(BroadcastReceiver.class);
+        IntentFilter filter = new IntentFilter();
+        filter.addAction(Constants.AUTHENTICATION_ACTION);
+        filter.addAction(Constants.CANCELED_ACTION);
+        LocalBroadcastManager.getInstance(context).registerReceiver(receiver, filter);
+        listener = mock(LockResultDispatcher.Listener.class);
+        options = new Options();
+        token = OptionsRegistry.register(options, listener, null);
+        credentials = new Credentials("idToken", "accessToken", "type", "refreshToken", 3600L);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        LocalBroadcastManager.getInstance(context).unregisterReceiver(receiver);
+        OptionsRegistry.unregister(token);
+    }
+
+    @Test
+    public void shouldDeliverTheAuthenticationToTheListener() throws Exception {
+        LockResultDispatcher.deliverAuthentication(context, token, credentials);
+
+        verify(listener).onAuthentication(credentials);
+        verify(receiver, never()).onReceive(any(Context.class), any(Intent.class));
+    }
+
+    @Test
+    public void shouldDeliverTheAuthenticationOnTheMainThread() throws Exception {
+        final AtomicReference<Looper> deliveryLooper = new AtomicReference<>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                deliveryLooper.set(Looper.myLooper());
+                return null;
+            }
+        }).when(listener).onAuthentication(credentials);
+
+        ShadowLooper.pauseMainLooper();
+        Thread requestThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                LockResultDispatcher.deliverAuthentication(context, token, credentials);
+            }
+        });
+        requestThread.start();
+        requestThread.join();
+        verify(listener, never()).onAuthentication(credentials);
+
+        ShadowLooper.unPauseMainLooper();
+        verify(listener).onAuthentication(credentials);
+        assertThat(deliveryLooper.get(), is(sameInstance(Looper.getMainLooper())));
+    }
+
+    @Test
+    public void shouldReportTheDeliveryOnceTheListenerWasCalled() throws Exception {
+        final LockMetrics metrics = mock(LockMetrics.class);
+        LockTrace.setMetrics(metrics);
+        try {
+            ShadowLooper.pauseMainLooper();
+            Thread requestThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    LockResultDispatcher.deliverAuthentication(context, token, credentials);
+                }
+            });
+            requestThread.start();
+            requestThread.join();
+            verify(metrics, never()).onSpan(anyString(), anyLong(), anyLong());
+
+            ShadowLooper.unPauseMainLooper();
+            verify(listener).onAuthentication(credentials);
+            verify(metrics).onSpan(eq(LockSpan.DELIVER_RESULT), anyLong(), anyLong());
+        } finally {
+            LockTrace.setMetrics(null);
+        }
+    }
+
+    @Test
+    public void shouldDeliverTheCancellationToTheListener() throws Exception {
+        LockResultDispatcher.deliverCanceled(context, token);
+
+        verify(listener).onCanceled();
+        verify(receiver, never()).onReceive(any(Context.class), any(Intent.class));
+    }
+
+    @Test
+    public void shouldBroadcastTheAuthenticationWhenTheListenerIsGone() throws Exception {
+        OptionsRegistry.unregister(token);
+        LockResultDispatcher.deliverAuthentication(context, token, credentials);
+
+        ArgumentCaptor<Intent> intentCaptor = ArgumentCaptor.forClass(Intent.class);
+        verify(receiver).onReceive(any(Context.class), intentCaptor.capture());
+        Intent intent = intentCaptor.getValue();
+        assertThat(intent.getAction(), is(Constants.AUTHENTICATION_ACTION));
+        assertThat(intent.getStringExtra(Constants.ID_TOKEN_EXTRA), is("idToken"));
+        assertThat(intent.getStringExtra(Constants.ACCESS_TOKEN_EXTRA), is("accessToken"));
+        assertThat(intent.getStringExtra(Constants.TOKEN_TYPE_EXTRA), is("type"));
+        assertThat(intent.getStringExtra(Constants.REFRESH_TOKEN_EXTRA), is("refreshToken"));
+        assertThat(intent.getLongExtra(Constants.EXPIRES_IN_EXTRA, 0), is(3600L));
+    }
+
+    @Test
+    public void shouldBroadcastTheCancellationWhenThereIsNoToken() throws Exception {
+        LockResultDispatcher.deliverCanceled(context, null);
+
+        ArgumentCaptor<Intent> intentCaptor = ArgumentCaptor.forClass(Intent.class);
+        verify(receiver).onReceive(any(Context.class), intentCaptor.capture());
+        assertThat(intentCaptor.getValue().getAction(), is(Constants.CANCELED_ACTION));
+        verify(listener, never()).onCanceled();
+    }
+
+    @Test
+    public void shouldNotifyTheCredentialsToAnAuthenticationCallback() throws Exception {
+        MockLockCallback callback = new MockLockCallback();
+        LockResultDispatcher.notifyAuthentication(callback, credentials);
+
+        assertThat(callback.authentication().call(), is(sameInstance(credentials)));
+    }
+
+    @Test
+    public void shouldNotifyTheAuthenticationThroughAnOverriddenOnEvent() throws Exception {
+        final AtomicReference<Intent> eventData = new AtomicReference<>();
+        final AtomicReference<Credentials> authentication = new AtomicReference<>();
+        AuthenticationCallback callback = new AuthenticationCallback() {
+            @Override
+            public void onEvent(@LockEvent int event, Intent data) {
+                eventData.set(data);
+                super.onEvent(event, data);
+            }
+
+            @Override
+            public void onAuthentication(Credentials credentials) {
+                authentication.set(credentials);
+            }
+
+            @Override
+            public void onCanceled() {
+            }
+
+            @Override
+            public void onError(LockException error) {
+            }
+        };
+        LockResultDispatcher.notifyAuthentication(callback, credentials);
+
+        assertThat(eventData.get().getAction(), is(Constants.AUTHENTICATION_ACTION));
+        assertThat(eventData.get().getStringExtra(Constants.ID_TOKEN_EXTRA), is("idToken"));
+        assertThat(authentication.get().getIdToken(), is("idToken"));
+    }
+}
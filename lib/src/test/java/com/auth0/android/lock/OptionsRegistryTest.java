@@ -0,0 +1,109 @@
+package com.auth0.android.lock;
+
+import com.auth0.android.lock.internal.configuration.Options;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = com.auth0.android.lock.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class OptionsRegistryTest {
+
+    @Test
+    public void shouldReturnTheRegisteredInstance() throws Exception {
+        final Options options = new Options();
+        final String token = OptionsRegistry.register(options, null, null);
+
+        assertThat(token, is(notNullValue()));
+        assertThat(OptionsRegistry.get(token), is(sameInstance(options)));
+    }
+
+    @Test
+    public void shouldReturnADifferentTokenForEachRegistration() throws Exception {
+        final Options options = new Options();
+        final String firstToken = OptionsRegistry.register(options, null, null);
+        final String secondToken = OptionsRegistry.register(options, null, null);
+
+        assertThat(firstToken, is(not(secondToken)));
+    }
+
+    @Test
+    public void shouldReturnTheRegisteredResultListener() throws Exception {
+        final LockResultDispatcher.Listener listener = mock(LockResultDispatcher.Listener.class);
+        final String token = OptionsRegistry.register(new Options(), listener, null);
+
+        assertThat(OptionsRegistry.getResultListener(token), is(sameInstance(listener)));
+    }
+
+    @Test
+    public void shouldNotReturnAResultListenerWhenNoneWasRegistered() throws Exception {
+        final String token = OptionsRegistry.register(new Options(), null, null);
+
+        assertThat(OptionsRegistry.getResultListener(token), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReturnTheRegisteredMetrics() throws Exception {
+        final LockMetrics metrics = mock(LockMetrics.class);
+        final String token = OptionsRegistry.register(new Options(), null, metrics);
+
+        assertThat(OptionsRegistry.getMetrics(token), is(sameInstance(metrics)));
+        assertThat(OptionsRegistry.getMetrics(OptionsRegistry.register(new Options(), null, null)), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotReturnUnregisteredInstances() throws Exception {
+        final String token = OptionsRegistry.register(new Options(), null, null);
+        OptionsRegistry.unregister(token);
+
+        assertThat(OptionsRegistry.get(token), is(nullValue()));
+    }
+
+    @Test
+    public void shouldKeepTheOptionsOfAPendingLaunchAfterUnregistering() throws Exception {
+        final Options options = new Options();
+        final String token = OptionsRegistry.register(options, null, null);
+        OptionsRegistry.retainForLaunch(token);
+        OptionsRegistry.unregister(token);
+
+        assertThat(OptionsRegistry.get(token), is(sameInstance(options)));
+    }
+
+    @Test
+    public void shouldRemoveTheOptionsOnceTheLaunchIsReleasedAfterUnregistering() throws Exception {
+        final String token = OptionsRegistry.register(new Options(), null, null);
+        OptionsRegistry.retainForLaunch(token);
+        OptionsRegistry.unregister(token);
+        OptionsRegistry.releaseLaunch(token);
+
+        assertThat(OptionsRegistry.get(token), is(nullValue()));
+    }
+
+    @Test
+    public void shouldKeepTheOptionsWhenTheLaunchIsReleasedBeforeUnregistering() throws Exception {
+        final Options options = new Options();
+        final String token = OptionsRegistry.register(options, null, null);
+        OptionsRegistry.retainForLaunch(token);
+        OptionsRegistry.releaseLaunch(token);
+
+        assertThat(OptionsRegistry.get(token), is(sameInstance(options)));
+        OptionsRegistry.unregister(token);
+        assertThat(OptionsRegistry.get(token), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotReturnInstancesForUnknownTokens() throws Exception {
+        assertThat(OptionsRegistry.get("unknown"), is(nullValue()));
+        assertThat(OptionsRegistry.get(null), is(nullValue()));
+    }
+}
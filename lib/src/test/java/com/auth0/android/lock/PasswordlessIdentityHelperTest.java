@@ -11,12 +11,17 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -78,6 +83,61 @@ public class PasswordlessIdentityHelperTest {
         assertThat(country.getIsoCode(), is("ar"));
     }
 
+    @Test
+    public void shouldGetSavedIdentityWithoutCountryDialCode() throws Exception {
+        PasswordlessIdentityHelper helper = new PasswordlessIdentityHelper(context, PasswordlessMode.SMS_CODE);
+        when(sp.getString(eq("last_passwordless_identity"), anyString())).thenReturn("541234567890");
+        when(sp.getString(eq("last_passwordless_country"), anyString())).thenReturn("ar@54");
+
+        assertThat(helper.getLastIdentity(), is("1234567890"));
+    }
+
+    @Test
+    public void shouldIgnoreInvalidSavedCountry() throws Exception {
+        PasswordlessIdentityHelper helper = new PasswordlessIdentityHelper(context, PasswordlessMode.SMS_CODE);
+        when(sp.getString(eq("last_passwordless_country"), anyString())).thenReturn("ar");
+
+        assertThat(helper.getLastCountry(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldKeepThePreloadedIdentity() throws Exception {
+        PasswordlessIdentityHelper helper = new PasswordlessIdentityHelper(context, PasswordlessMode.SMS_CODE);
+        when(sp.getString(eq("last_passwordless_identity"), anyString())).thenReturn("me@auth0.com");
+        when(sp.getInt(eq("last_passwordless_mode"), anyInt())).thenReturn(PasswordlessMode.SMS_CODE);
+        final CountDownLatch latch = new CountDownLatch(1);
+        helper.preload(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+        assertThat(latch.await(1, TimeUnit.SECONDS), is(true));
+
+        when(sp.getString(eq("last_passwordless_identity"), anyString())).thenReturn("you@auth0.com");
+        assertThat(helper.getLastIdentity(), is("me@auth0.com"));
+        assertThat(helper.hasLoggedInBefore(), is(true));
+        verify(context, times(1)).getSharedPreferences("Lock", Context.MODE_PRIVATE);
+    }
+
+    @Test
+    public void shouldUpdateThePreloadedIdentityWhenSaving() throws Exception {
+        PasswordlessIdentityHelper helper = new PasswordlessIdentityHelper(context, PasswordlessMode.SMS_CODE);
+        final CountDownLatch latch = new CountDownLatch(1);
+        helper.preload(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+        assertThat(latch.await(1, TimeUnit.SECONDS), is(true));
+
+        helper.saveIdentity("541234567890", new Country("ar", "54"));
+        assertThat(helper.getLastIdentity(), is("1234567890"));
+        assertThat(helper.getLastCountry().getIsoCode(), is("ar"));
+        assertThat(helper.hasLoggedInBefore(), is(true));
+    }
+
     @Test
     public void shouldNotHaveLoggedInBeforeIfCurrentPasswordlessModeIsDisabled() throws Exception {
         PasswordlessIdentityHelper helper = new PasswordlessIdentityHelper(context, PasswordlessMode.DISABLED);
@@ -0,0 +1,117 @@
+/*
+ * CountrySearchIndexTest.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.adapters;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CountrySearchIndexTest {
+
+    private CountrySearchIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        List<Country> countries = Arrays.asList(
+                new Country("AR", "+54"),
+                new Country("BB", "+1 246"),
+                new Country("GB", "+44"),
+                new Country("IM", "+44"),
+                new Country("RE", "+262"),
+                new Country("US", "+1"));
+        index = new CountrySearchIndex(countries, Locale.US);
+    }
+
+    @Test
+    public void shouldReturnEveryCountryWhenQueryIsEmpty() throws Exception {
+        assertThat(index.search("", null).getCountries(), hasSize(6));
+    }
+
+    @Test
+    public void shouldFindByDisplayNameIgnoringCase() throws Exception {
+        assertThat(isoCodesOf(index.search("ARGEN", null)), contains("AR"));
+    }
+
+    @Test
+    public void shouldFindByDisplayNameIgnoringAccents() throws Exception {
+        assertThat(isoCodesOf(index.search("reunion", null)), contains("RE"));
+        assertThat(isoCodesOf(index.search("R\u00e9union", null)), contains("RE"));
+    }
+
+    @Test
+    public void shouldFindByIsoCode() throws Exception {
+        assertThat(isoCodesOf(index.search("im", null)), contains("IM"));
+    }
+
+    @Test
+    public void shouldFindByDialCode() throws Exception {
+        assertThat(isoCodesOf(index.search("+44", null)), contains("GB", "IM"));
+        assertThat(isoCodesOf(index.search("+1 2", null)), contains("BB"));
+    }
+
+    @Test
+    public void shouldRankPrefixMatchesFirst() throws Exception {
+        assertThat(isoCodesOf(index.search("uni", null)), contains("GB", "US", "RE"));
+        assertThat(isoCodesOf(index.search("man", null)), contains("IM"));
+    }
+
+    @Test
+    public void shouldNarrowThePreviousResult() throws Exception {
+        final CountrySearchIndex.Result first = index.search("+", null);
+        assertThat(first.getCountries(), hasSize(6));
+        final CountrySearchIndex.Result second = index.search("+4", first);
+        assertThat(isoCodesOf(second), contains("GB", "IM"));
+        final CountrySearchIndex.Result third = index.search("+44", second);
+        assertThat(isoCodesOf(third), contains("GB", "IM"));
+    }
+
+    @Test
+    public void shouldSearchEveryCountryWhenTheQueryDoesNotExtendThePreviousOne() throws Exception {
+        final CountrySearchIndex.Result first = index.search("arg", null);
+        assertThat(isoCodesOf(index.search("uni", first)), contains("GB", "US", "RE"));
+    }
+
+    @Test
+    public void shouldBeBuiltForALocale() throws Exception {
+        assertThat(index.isFor(Locale.US), is(true));
+        assertThat(index.isFor(Locale.FRANCE), is(false));
+    }
+
+    private static List<String> isoCodesOf(CountrySearchIndex.Result result) {
+        final String[] isoCodes = new String[result.getCountries().size()];
+        for (int i = 0; i < isoCodes.length; i++) {
+            isoCodes[i] = result.getCountries().get(i).getIsoCode();
+        }
+        return Arrays.asList(isoCodes);
+    }
+}
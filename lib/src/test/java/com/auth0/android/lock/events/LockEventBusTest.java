@@ -0,0 +1,94 @@
+package com.auth0.android.lock.events;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = com.auth0.android.lock.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class LockEventBusTest {
+
+    private LockEventBus.Subscriber subscriber;
+    private LockEventBus bus;
+
+    @Before
+    public void setUp() throws Exception {
+        subscriber = mock(LockEventBus.Subscriber.class);
+        bus = new LockEventBus(subscriber);
+    }
+
+    @Test
+    public void shouldDeliverFetchApplicationEvent() throws Exception {
+        final FetchApplicationEvent event = new FetchApplicationEvent();
+        bus.post(event);
+        verify(subscriber).onFetchApplicationRequest(event);
+    }
+
+    @Test
+    public void shouldDeliverDatabaseLoginEvent() throws Exception {
+        final DatabaseLoginEvent event = new DatabaseLoginEvent("john@doe.com", "123456");
+        bus.post(event);
+        verify(subscriber).onDatabaseAuthenticationRequest(event);
+        verify(subscriber, never()).onDatabaseAuthenticationRequest(any(DatabaseSignUpEvent.class));
+        verify(subscriber, never()).onDatabaseAuthenticationRequest(any(DatabaseChangePasswordEvent.class));
+    }
+
+    @Test
+    public void shouldDeliverDatabaseSignUpEvent() throws Exception {
+        final DatabaseSignUpEvent event = new DatabaseSignUpEvent("john@doe.com", "123456", "johndoe");
+        bus.post(event);
+        verify(subscriber).onDatabaseAuthenticationRequest(event);
+        verify(subscriber, never()).onDatabaseAuthenticationRequest(any(DatabaseLoginEvent.class));
+    }
+
+    @Test
+    public void shouldDeliverDatabaseChangePasswordEvent() throws Exception {
+        final DatabaseChangePasswordEvent event = new DatabaseChangePasswordEvent("john@doe.com");
+        bus.post(event);
+        verify(subscriber).onDatabaseAuthenticationRequest(event);
+        verify(subscriber, never()).onDatabaseAuthenticationRequest(any(DatabaseLoginEvent.class));
+    }
+
+    @Test
+    public void shouldDeliverOAuthLoginEvent() throws Exception {
+        final OAuthLoginEvent event = mock(OAuthLoginEvent.class);
+        bus.post(event);
+        verify(subscriber).onOAuthAuthenticationRequest(event);
+    }
+
+    @Test
+    public void shouldDeliverPasswordlessLoginEvent() throws Exception {
+        final PasswordlessLoginEvent event = mock(PasswordlessLoginEvent.class);
+        bus.post(event);
+        verify(subscriber).onPasswordlessAuthenticationRequest(event);
+    }
+
+    @Test
+    public void shouldDeliverCountryCodeChangeEvent() throws Exception {
+        final CountryCodeChangeEvent event = new CountryCodeChangeEvent();
+        bus.post(event);
+        verify(subscriber).onCountryCodeChangeRequest(event);
+    }
+
+    @Test
+    public void shouldDeliverLockMessageEvent() throws Exception {
+        //noinspection ResourceType
+        final LockMessageEvent event = new LockMessageEvent(23);
+        bus.post(event);
+        verify(subscriber).onLockMessage(event);
+    }
+
+    @Test
+    public void shouldIgnoreUnknownEvents() throws Exception {
+        bus.post("not an event");
+        verifyZeroInteractions(subscriber);
+    }
+}
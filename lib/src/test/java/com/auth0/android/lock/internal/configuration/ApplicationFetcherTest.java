@@ -26,6 +26,9 @@ package com.auth0.android.lock.internal.configuration;
 
 import com.auth0.android.Auth0;
 import com.auth0.android.Auth0Exception;
+import com.auth0.android.authentication.AuthenticationException;
+import com.auth0.android.callback.AuthenticationCallback;
+import com.auth0.android.lock.internal.threading.LockExecutor;
 import com.auth0.android.lock.utils.ApplicationAPI;
 import com.auth0.android.lock.utils.Auth0AuthenticationCallbackMatcher;
 import com.auth0.android.lock.utils.MockAuthenticationCallback;
@@ -35,22 +38,53 @@ import com.squareup.okhttp.OkHttpClient;
 import org.hamcrest.CoreMatchers;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.robolectric.RobolectricGradleTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 
 @RunWith(RobolectricGradleTestRunner.class)
 @Config(constants = com.auth0.android.lock.BuildConfig.class, sdk = 21, manifest = Config.NONE)
 public class ApplicationFetcherTest {
 
+    private static final String OUTDATED_JSONP = "Auth0.setClient({\"id\":\"CLIENTID\",\"tenant\":\"overmind\",\"authorize\":\"https://samples.auth0.com/authorize\",\"callback\":\"http://localhost:3000/\",\"strategies\":[]});";
+
+    @Rule
+    public TemporaryFolder cacheFolder = new TemporaryFolder();
+
     private ApplicationFetcher appFetcher;
+    private ApplicationFetcher cachedAppFetcher;
+    private ApplicationDiskCache cache;
+    private ApplicationFetcher memoryCachedAppFetcher;
+    private ApplicationMemoryCache memoryCache;
+    private Auth0 account;
     private ApplicationAPI mockAPI;
+    private String cacheKey;
 
     @Before
     public void setUp() throws Exception {
@@ -61,11 +95,18 @@ public class ApplicationFetcherTest {
         Mockito.when(options.getAccount()).thenReturn(account);
         OkHttpClient client = new OkHttpClient();
         appFetcher = new ApplicationFetcher(account, client);
+        cache = new ApplicationDiskCache(cacheFolder.getRoot());
+        cachedAppFetcher = new ApplicationFetcher(account, client, null, cache);
+        memoryCache = new ApplicationMemoryCache(ApplicationMemoryCache.DEFAULT_TIME_TO_LIVE);
+        memoryCachedAppFetcher = new ApplicationFetcher(account, client, memoryCache, null);
+        this.account = account;
+        cacheKey = ApplicationFetcher.cacheKeyFor(account);
     }
 
     @After
     public void tearDown() throws Exception {
         mockAPI.shutdown();
+        LockExecutor.reset();
     }
 
     @Test
@@ -91,4 +132,146 @@ public class ApplicationFetcherTest {
         assertThat(callback.getError(), CoreMatchers.instanceOf(Auth0Exception.class));
         assertThat(callback.getError().getCause().getCause().getMessage(), CoreMatchers.containsString("Invalid App Info JSONP"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReturnExceptionOnUnknownJSONPPrefix() throws Exception {
+        mockAPI.willReturnUnknownJSONPPrefixResponse();
+        final MockAuthenticationCallback<List<Connection>> callback = new MockAuthenticationCallback<>();
+        appFetcher.fetch(callback);
+        mockAPI.takeRequest();
+
+        TypeToken<List<Connection>> applicationType = new TypeToken<List<Connection>>(){};
+        assertThat(callback, Auth0AuthenticationCallbackMatcher.hasNoPayloadOfType(applicationType));
+        assertThat(callback.getError(), CoreMatchers.instanceOf(Auth0Exception.class));
+        assertThat(callback.getError().getCause().getCause().getMessage(), CoreMatchers.containsString("Invalid App Info JSONP"));
+    }
+
+    @Test
+    public void shouldStoreApplicationInCache() throws Exception {
+        mockAPI.willReturnValidJSONPResponseWithETag("\"v1\"");
+        final MockAuthenticationCallback<List<Connection>> callback = new MockAuthenticationCallback<>();
+        cachedAppFetcher.fetch(callback);
+        RecordedRequest request = mockAPI.takeRequest();
+
+        TypeToken<List<Connection>> applicationType = new TypeToken<List<Connection>>(){};
+        assertThat(callback, Auth0AuthenticationCallbackMatcher.hasPayloadOfType(applicationType));
+        assertThat(request.getHeader("If-None-Match"), is(nullValue()));
+        ApplicationDiskCache.Entry entry = cache.read(cacheKey);
+        assertThat(entry, is(notNullValue()));
+        assertThat(new String(entry.getPayload(), "UTF-8"), is(ApplicationAPI.VALID_JSONP));
+        assertThat(entry.getETag(), is("\"v1\""));
+    }
+
+    @Test
+    public void shouldReturnCachedApplicationAndRevalidateIt() throws Exception {
+        cache.write(cacheKey, new ApplicationDiskCache.Entry(ApplicationAPI.VALID_JSONP.getBytes("UTF-8"), "\"v1\"", null));
+        mockAPI.willReturnNotModifiedResponse();
+        //noinspection unchecked
+        final AuthenticationCallback<List<Connection>> callback = mock(AuthenticationCallback.class);
+        cachedAppFetcher.fetch(callback);
+        RecordedRequest request = mockAPI.takeRequest();
+
+        assertThat(request.getHeader("If-None-Match"), is("\"v1\""));
+        verify(callback, timeout(1000).times(1)).onSuccess(anyListOf(Connection.class));
+        verify(callback, never()).onFailure(any(AuthenticationException.class));
+        assertThat(cache.read(cacheKey), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldReturnCachedApplicationAndStoreTheUpdatedOneWhenItChanged() throws Exception {
+        cache.write(cacheKey, new ApplicationDiskCache.Entry(OUTDATED_JSONP.getBytes("UTF-8"), "\"v1\"", null));
+        mockAPI.willReturnValidJSONPResponseWithETag("\"v2\"");
+        //noinspection unchecked
+        final AuthenticationCallback<List<Connection>> callback = mock(AuthenticationCallback.class);
+        cachedAppFetcher.fetch(callback);
+        mockAPI.takeRequest();
+
+        verify(callback, after(1000).times(1)).onSuccess(anyListOf(Connection.class));
+        verify(callback, never()).onFailure(any(AuthenticationException.class));
+        ApplicationDiskCache.Entry entry = cache.read(cacheKey);
+        assertThat(entry, is(notNullValue()));
+        assertThat(entry.getETag(), is("\"v2\""));
+        assertThat(new String(entry.getPayload(), "UTF-8"), is(ApplicationAPI.VALID_JSONP));
+    }
+
+    @Test
+    public void shouldNotFailWhenRevalidationFailsAndApplicationIsCached() throws Exception {
+        cache.write(cacheKey, new ApplicationDiskCache.Entry(ApplicationAPI.VALID_JSONP.getBytes("UTF-8"), null, null));
+        mockAPI.willReturnInvalidJSONPLengthResponse();
+        //noinspection unchecked
+        final AuthenticationCallback<List<Connection>> callback = mock(AuthenticationCallback.class);
+        cachedAppFetcher.fetch(callback);
+        mockAPI.takeRequest();
+
+        verify(callback, timeout(1000).times(1)).onSuccess(anyListOf(Connection.class));
+        verify(callback, never()).onFailure(any(AuthenticationException.class));
+    }
+
+    @Test
+    public void shouldDiscardInvalidCachedApplication() throws Exception {
+        cache.write(cacheKey, new ApplicationDiskCache.Entry("SHORTJSON".getBytes("UTF-8"), "\"v1\"", null));
+        mockAPI.willReturnValidJSONPResponse();
+        final MockAuthenticationCallback<List<Connection>> callback = new MockAuthenticationCallback<>();
+        cachedAppFetcher.fetch(callback);
+        RecordedRequest request = mockAPI.takeRequest();
+
+        TypeToken<List<Connection>> applicationType = new TypeToken<List<Connection>>(){};
+        assertThat(callback, Auth0AuthenticationCallbackMatcher.hasPayloadOfType(applicationType));
+        assertThat(request.getHeader("If-None-Match"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldStoreApplicationInMemoryCache() throws Exception {
+        mockAPI.willReturnValidJSONPResponse();
+        final MockAuthenticationCallback<List<Connection>> callback = new MockAuthenticationCallback<>();
+        memoryCachedAppFetcher.fetch(callback);
+        mockAPI.takeRequest();
+
+        TypeToken<List<Connection>> applicationType = new TypeToken<List<Connection>>(){};
+        assertThat(callback, Auth0AuthenticationCallbackMatcher.hasPayloadOfType(applicationType));
+        assertThat(memoryCache.get(account), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldReturnApplicationFromMemoryCacheWithoutMakingRequests() throws Exception {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "twitter");
+        final List<Connection> connections = Collections.singletonList(Connection.newConnectionFor("twitter", values));
+        memoryCache.put(account, connections);
+        //noinspection unchecked
+        final AuthenticationCallback<List<Connection>> callback = mock(AuthenticationCallback.class);
+        memoryCachedAppFetcher.fetch(callback);
+
+        verify(callback).onSuccess(connections);
+        assertThat(mockAPI.getRequestCount(), is(0));
+    }
+
+    @Test
+    public void shouldWaitForTheFetchInProgressInsteadOfMakingAnotherRequest() throws Exception {
+        mockAPI.willReturnValidJSONPResponse();
+        final MockAuthenticationCallback<List<Connection>> firstCallback = new MockAuthenticationCallback<>();
+        final MockAuthenticationCallback<List<Connection>> secondCallback = new MockAuthenticationCallback<>();
+        memoryCachedAppFetcher.fetch(firstCallback);
+        new ApplicationFetcher(account, new OkHttpClient(), memoryCache, null).fetch(secondCallback);
+        mockAPI.takeRequest();
+
+        TypeToken<List<Connection>> applicationType = new TypeToken<List<Connection>>(){};
+        assertThat(firstCallback, Auth0AuthenticationCallbackMatcher.hasPayloadOfType(applicationType));
+        assertThat(secondCallback, Auth0AuthenticationCallbackMatcher.hasPayloadOfType(applicationType));
+        assertThat(mockAPI.getRequestCount(), is(1));
+    }
+
+    @Test
+    public void shouldFailWhenTheBackgroundExecutorRejectsTheFetch() throws Exception {
+        final ExecutorService executor = mock(ExecutorService.class);
+        doThrow(new RejectedExecutionException("Queue is full")).when(executor).execute(any(Runnable.class));
+        LockExecutor.setExecutorService(executor);
+        //noinspection unchecked
+        final AuthenticationCallback<List<Connection>> callback = mock(AuthenticationCallback.class);
+        cachedAppFetcher.fetch(callback);
+
+        verify(callback).onFailure(any(AuthenticationException.class));
+        verify(callback, never()).onSuccess(anyListOf(Connection.class));
+        assertThat(mockAPI.getRequestCount(), is(0));
+    }
+}
@@ -120,6 +120,16 @@ public class ApplicationGsonTest extends GsonBaseTest {
         assertThat(connections.get(0), instanceOf(Connection.class));
     }
 
+    @Test
+    public void shouldSkipUnknownAttributesAndKeepConnectionValues() throws Exception {
+        final List<Connection> connections = buildApplicationFrom(new StringReader("{\"id\":\"CBBlULbbyQHSVWj5EqZSTMhUrJAS3UFA\",\"unknown\":{\"nested\":[1,{\"a\":null}]},\"tenant\":\"samples\",\"authorize\":\"https://samples.auth0.com/authorize\",\"callback\":\"https://samples.auth0.com/callback\",\"strategies\":[{\"connections\":[{\"name\":\"ad\",\"domain\":\"auth10.com\",\"domain_aliases\":[\"auth10.com\"]}],\"name\":\"ad\"}]}"));
+        assertThat(connections, IsCollectionWithSize.hasSize(1));
+        assertThat(connections.get(0).getName(), is("ad"));
+        assertThat(connections.get(0).getStrategy(), is("ad"));
+        assertThat(connections.get(0).valueForKey("domain", String.class), is("auth10.com"));
+        assertThat(connections.get(0).valueForKey("domain_aliases", List.class), is(notNullValue()));
+    }
+
     private List<Connection> buildApplicationFrom(Reader json) throws IOException {
         TypeToken<List<Connection>> applicationType = new TypeToken<List<Connection>>() {};
         return pojoFrom(json, applicationType);
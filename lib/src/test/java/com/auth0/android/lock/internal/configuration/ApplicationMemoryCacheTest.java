@@ -0,0 +1,117 @@
+/*
+ * ApplicationMemoryCacheTest.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.internal.configuration;
+
+import com.auth0.android.Auth0;
+import com.auth0.android.callback.AuthenticationCallback;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = com.auth0.android.lock.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class ApplicationMemoryCacheTest {
+
+    private Auth0 account;
+    private List<Connection> connections;
+
+    @Before
+    public void setUp() throws Exception {
+        account = new Auth0("client_id", "samples.auth0.com");
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "twitter");
+        connections = Collections.singletonList(Connection.newConnectionFor("twitter", values));
+    }
+
+    @Test
+    public void shouldReturnStoredConnections() throws Exception {
+        ApplicationMemoryCache cache = new ApplicationMemoryCache(ApplicationMemoryCache.DEFAULT_TIME_TO_LIVE);
+        cache.put(account, connections);
+
+        assertThat(cache.get(account), contains(connections.get(0)));
+    }
+
+    @Test
+    public void shouldNotReturnConnectionsOfAnotherAccount() throws Exception {
+        ApplicationMemoryCache cache = new ApplicationMemoryCache(ApplicationMemoryCache.DEFAULT_TIME_TO_LIVE);
+        cache.put(account, connections);
+
+        assertThat(cache.get(new Auth0("other_client_id", "samples.auth0.com")), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotReturnExpiredConnections() throws Exception {
+        ApplicationMemoryCache cache = new ApplicationMemoryCache(0);
+        cache.put(account, connections);
+
+        assertThat(cache.get(account), is(nullValue()));
+    }
+
+    @Test
+    public void shouldInvalidateConnections() throws Exception {
+        ApplicationMemoryCache cache = new ApplicationMemoryCache(ApplicationMemoryCache.DEFAULT_TIME_TO_LIVE);
+        cache.put(account, connections);
+        cache.invalidate(account);
+
+        assertThat(cache.get(account), is(nullValue()));
+    }
+
+    @Test
+    public void shouldClearConnections() throws Exception {
+        ApplicationMemoryCache cache = new ApplicationMemoryCache(ApplicationMemoryCache.DEFAULT_TIME_TO_LIVE);
+        cache.put(account, connections);
+        cache.clear();
+
+        assertThat(cache.get(account), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotReturnRemovedPendingCallbacks() throws Exception {
+        ApplicationMemoryCache cache = new ApplicationMemoryCache(ApplicationMemoryCache.DEFAULT_TIME_TO_LIVE);
+        AuthenticationCallback<List<Connection>> first = mock(AuthenticationCallback.class);
+        AuthenticationCallback<List<Connection>> second = mock(AuthenticationCallback.class);
+        cache.awaitFetch(account, first);
+        cache.awaitFetch(account, second);
+        cache.removePendingCallback(account, first);
+
+        assertThat(cache.awaitFetch(account, first), is(false));
+        cache.removePendingCallback(account, first);
+        assertThat(cache.takePendingCallbacks(account), contains(second));
+    }
+}
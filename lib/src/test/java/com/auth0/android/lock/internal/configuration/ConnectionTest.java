@@ -31,11 +31,18 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricGradleTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import static com.auth0.android.lock.internal.configuration.Connection.newConnectionFor;
 import static com.auth0.android.lock.internal.configuration.ConnectionMatcher.hasType;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
@@ -145,6 +152,98 @@ public class ConnectionTest {
         assertThat(value, is(false));
     }
 
+    @Test
+    public void shouldReturnParsedAttributesFromKey() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", CONNECTION_NAME);
+        values.put("passwordPolicy", "fair");
+        values.put("requires_username", true);
+        values.put("showSignup", true);
+        values.put("showForgot", false);
+        values.put("domain", "auth0.com");
+        values.put("domain_aliases", Arrays.asList("auth0.com", "Auth10.com"));
+        Connection connection = newConnectionFor("ad", values);
+
+        assertThat(connection.getPasswordPolicy(), is(PasswordStrength.FAIR));
+        assertThat(connection.requiresUsername(), is(true));
+        assertThat(connection.showSignUp(), is(true));
+        assertThat(connection.showForgot(), is(false));
+        assertThat(connection.getDomain(), is("auth0.com"));
+        assertThat(connection.getDomainAliases(), contains("auth0.com", "Auth10.com"));
+        assertThat(connection.getDomainSet(), containsInAnyOrder("auth0.com", "auth10.com"));
+        assertThat(connection.valueForKey("passwordPolicy", String.class), is("fair"));
+        assertThat(connection.booleanForKey("requires_username"), is(true));
+        assertThat(connection.booleanForKey("showForgot"), is(false));
+        assertThat(connection.valueForKey("domain", String.class), is("auth0.com"));
+        assertThat((List<String>) connection.valueForKey("domain_aliases", List.class), contains("auth0.com", "Auth10.com"));
+    }
+
+    @Test
+    public void shouldReturnFalseForMissingParsedBooleans() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", CONNECTION_NAME);
+        Connection connection = newConnectionFor("auth0", values);
+
+        assertThat(connection.valueForKey("requires_username", Boolean.class), is(false));
+        assertThat(connection.valueForKey("showSignup", Boolean.class), is(false));
+        assertThat(connection.valueForKey("showForgot", Boolean.class), is(false));
+    }
+
+    @Test
+    public void shouldReturnNullForEmptyDomainAliases() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", CONNECTION_NAME);
+        values.put("domain", "auth0.com");
+        values.put("domain_aliases", Collections.emptyList());
+        Connection connection = newConnectionFor("ad", values);
+
+        assertThat(connection.valueForKey("domain_aliases", List.class), is(nullValue()));
+        assertThat(connection.getDomainAliases(), is(empty()));
+    }
+
+    @Test
+    public void shouldIgnoreDomainAliasesThatAreNotStrings() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", CONNECTION_NAME);
+        values.put("domain", "auth0.com");
+        values.put("domain_aliases", Arrays.<Object>asList("auth10.com", 1.0, null, true));
+        Connection connection = newConnectionFor("ad", values);
+
+        assertThat(connection.getDomainAliases(), contains("auth10.com"));
+        assertThat(connection.getDomainSet(), containsInAnyOrder("auth0.com", "auth10.com"));
+    }
+
+    @Test
+    public void shouldLowerCaseTheDomainsRegardlessOfTheDefaultLocale() {
+        final Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            Map<String, Object> values = new HashMap<>();
+            values.put("name", CONNECTION_NAME);
+            values.put("domain", "IBM.com");
+            values.put("domain_aliases", Collections.singletonList("MAIL.IBM.com"));
+            Connection connection = newConnectionFor("ad", values);
+
+            assertThat(connection.getDomainSet(), containsInAnyOrder("ibm.com", "mail.ibm.com"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void shouldRemoveTheParsedAttributesFromTheGivenValues() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", CONNECTION_NAME);
+        values.put("passwordPolicy", "fair");
+        values.put("showSignup", true);
+        values.put("domain", "auth0.com");
+        values.put(KEY, VALUE);
+        newConnectionFor("ad", values);
+
+        assertThat(values.size(), is(1));
+        assertThat(values.get(KEY), is(VALUE));
+    }
+
     @Test
     public void shouldReturnUnknownSocial() {
         final Connection unknownSocial = connectionForStrategy("this-strategy-does-not-exist");
@@ -111,6 +111,42 @@ public class EnterpriseConnectionMatcherTest {
         assertThat(connection, is(nullValue()));
     }
 
+    @Test
+    public void shouldParseTheConnectionIgnoringCase() throws Exception {
+        OAuthConnection connection = parser.parse("username@PE.pe");
+        assertThat(connection, is(notNullValue()));
+        assertThat(connection.getName(), is(equalTo(NAME_VALUE)));
+    }
+
+    @Test
+    public void shouldMatchTheFirstConnectionThatHasTheDomain() throws Exception {
+        Map<String, Object> map = new HashMap<>();
+        map.put(NAME_KEY, "second");
+        map.put(DOMAIN_KEY, "pep.com");
+        List<OAuthConnection> connections = new ArrayList<>();
+        connections.add(createConnection());
+        connections.add(newConnectionFor(ENTERPRISE_STRATEGY, map));
+        EnterpriseConnectionMatcher parser = new EnterpriseConnectionMatcher(connections);
+
+        OAuthConnection connection = parser.parse(SAMPLE_VALID_EMAIL);
+        assertThat(connection, is(notNullValue()));
+        assertThat(connection.getName(), is(equalTo(NAME_VALUE)));
+    }
+
+    @Test
+    public void shouldParseTheConnectionIncrementally() throws Exception {
+        assertThat(parser.parseIncrementally("username"), is(nullValue()));
+        assertThat(parser.parseIncrementally("username@"), is(nullValue()));
+        assertThat(parser.parseIncrementally("username@pep"), is(nullValue()));
+        OAuthConnection connection = parser.parseIncrementally("username@pep.com");
+        assertThat(connection, is(notNullValue()));
+        assertThat(connection.getName(), is(equalTo(NAME_VALUE)));
+        assertThat(parser.parseIncrementally("user@pep.com"), is(connection));
+        assertThat(parser.parseIncrementally(new StringBuilder("name@PEP.com")), is(connection));
+        assertThat(parser.parseIncrementally("name@pep.co"), is(nullValue()));
+        assertThat(parser.parseIncrementally("name"), is(nullValue()));
+    }
+
     private Connection createConnection() {
         Map<String, Object> map = new HashMap<>();
         map.put(NAME_KEY, NAME_VALUE);
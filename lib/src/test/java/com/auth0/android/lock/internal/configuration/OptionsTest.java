@@ -1,5 +1,6 @@
 package com.auth0.android.lock.internal.configuration;
 
+import android.os.BadParcelableException;
 import android.os.Build;
 import android.os.Parcel;
 import android.support.v7.appcompat.BuildConfig;
@@ -525,6 +526,44 @@ public class OptionsTest {
         assertThat(options.getAuthenticationParameters(), is(equalTo(parceledOptions.getAuthenticationParameters())));
     }
 
+    @Test
+    public void shouldKeepTheTypeOfEachAuthenticationParameter() throws Exception {
+        HashMap<String, Object> parameters = new HashMap<>();
+        parameters.put("string", "value");
+        parameters.put("boolean", true);
+        parameters.put("int", 123);
+        parameters.put("long", 1234567890123L);
+        parameters.put("double", 1.5d);
+        parameters.put("null", null);
+        parameters.put("list", Arrays.asList("one", "two"));
+        parameters.put("map", createAuthenticationParameters(42));
+        options.setAuthenticationParameters(parameters);
+
+        Parcel parcel = Parcel.obtain();
+        options.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+
+        Options parceledOptions = Options.CREATOR.createFromParcel(parcel);
+        HashMap<String, Object> parceledParameters = parceledOptions.getAuthenticationParameters();
+        assertThat(parceledParameters, is(equalTo(parameters)));
+        assertThat(parceledParameters.get("boolean"), is((Object) Boolean.TRUE));
+        assertThat(parceledParameters.get("int"), is((Object) 123));
+        assertThat(parceledParameters.get("long"), is((Object) 1234567890123L));
+        assertThat(parceledParameters.get("double"), is((Object) 1.5d));
+        assertThat(parceledParameters.containsKey("null"), is(true));
+        assertThat(parceledParameters.get("null"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotReadAParcelWrittenWithAnotherVersion() throws Exception {
+        Parcel parcel = Parcel.obtain();
+        parcel.writeInt(1);
+        parcel.setDataPosition(0);
+
+        exception.expect(BadParcelableException.class);
+        Options.CREATOR.createFromParcel(parcel);
+    }
+
     @Test
     public void shouldSetConnectionScope() throws Exception {
         options.withConnectionScope("some_connection", "scope for some connection");
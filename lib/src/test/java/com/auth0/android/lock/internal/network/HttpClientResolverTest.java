@@ -0,0 +1,40 @@
+package com.auth0.android.lock.internal.network;
+
+import com.squareup.okhttp.OkHttpClient;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = com.auth0.android.lock.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class HttpClientResolverTest {
+
+    @After
+    public void tearDown() {
+        HttpClientResolver.reset();
+    }
+
+    @Test
+    public void shouldReuseTheDefaultClient() {
+        OkHttpClient client = HttpClientResolver.getHttpClient();
+
+        assertThat(client, is(notNullValue()));
+        assertThat(HttpClientResolver.getHttpClient(), is(sameInstance(client)));
+    }
+
+    @Test
+    public void shouldUseTheGivenClient() {
+        OkHttpClient client = new OkHttpClient();
+        HttpClientResolver.setHttpClient(client);
+
+        assertThat(HttpClientResolver.getHttpClient(), is(sameInstance(client)));
+    }
+}
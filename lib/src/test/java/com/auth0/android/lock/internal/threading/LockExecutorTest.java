@@ -0,0 +1,109 @@
+package com.auth0.android.lock.internal.threading;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = com.auth0.android.lock.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class LockExecutorTest {
+
+    @After
+    public void tearDown() {
+        LockExecutor.reset();
+    }
+
+    @Test
+    public void shouldReuseTheDefaultExecutor() {
+        ExecutorService executor = LockExecutor.getExecutorService();
+
+        assertThat(executor, is(notNullValue()));
+        assertThat(LockExecutor.getExecutorService(), is(sameInstance(executor)));
+    }
+
+    @Test
+    public void shouldUseTheGivenExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        LockExecutor.setExecutorService(executor);
+
+        assertThat(LockExecutor.getExecutorService(), is(sameInstance(executor)));
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldRunTheJobOnANamedBackgroundThread() throws Exception {
+        final String[] threadName = new String[1];
+        final CountDownLatch latch = new CountDownLatch(1);
+        LockExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                threadName[0] = Thread.currentThread().getName();
+                latch.countDown();
+            }
+        });
+
+        assertThat(latch.await(1, TimeUnit.SECONDS), is(true));
+        assertThat(threadName[0].startsWith("Lock-Background-"), is(true));
+    }
+
+    @Test
+    public void shouldCountTheQueuedJobs() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        LockExecutor.setExecutorService(executor);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        LockExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+        });
+        assertThat(started.await(1, TimeUnit.SECONDS), is(true));
+        Future<?> queued = LockExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+
+        assertThat(LockExecutor.getQueueDepth(), is(1));
+        queued.cancel(false);
+        assertThat(LockExecutor.getQueueDepth(), is(0));
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldNotCountRejectedJobs() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        LockExecutor.setExecutorService(executor);
+
+        try {
+            LockExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+        } catch (RejectedExecutionException ignored) {
+        }
+        assertThat(LockExecutor.getQueueDepth(), is(0));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * LockTraceTest.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.internal.tracing;
+
+import com.auth0.android.authentication.AuthenticationException;
+import com.auth0.android.callback.AuthenticationCallback;
+import com.auth0.android.lock.LockMetrics;
+import com.auth0.android.lock.LockMetrics.LockSpan;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = com.auth0.android.lock.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class LockTraceTest {
+
+    private LockMetrics metrics;
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = mock(LockMetrics.class);
+        LockTrace.setMetrics(metrics);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        LockTrace.setMetrics(null);
+    }
+
+    @Test
+    public void shouldReportTheSectionWhenItEnds() throws Exception {
+        final long start = LockTrace.beginSection(LockSpan.CONFIGURE_VIEW);
+        verify(metrics, never()).onSpan(anyString(), anyLong(), anyLong());
+        LockTrace.endSection(LockSpan.CONFIGURE_VIEW, start);
+
+        ArgumentCaptor<Long> endCaptor = ArgumentCaptor.forClass(Long.class);
+        verify(metrics).onSpan(eq(LockSpan.CONFIGURE_VIEW), eq(start), endCaptor.capture());
+        assertThat(endCaptor.getValue(), is(greaterThanOrEqualTo(start)));
+    }
+
+    @Test
+    public void shouldReportTheStepsThatEndOnAnotherThread() throws Exception {
+        final long start = LockTrace.now();
+        LockTrace.report(LockSpan.FETCH_APPLICATION, start);
+
+        verify(metrics).onSpan(eq(LockSpan.FETCH_APPLICATION), eq(start), anyLong());
+    }
+
+    @Test
+    public void shouldNotReportWhenThereAreNoMetrics() throws Exception {
+        LockTrace.setMetrics(null);
+        LockTrace.endSection(LockSpan.CONFIGURE_VIEW, LockTrace.beginSection(LockSpan.CONFIGURE_VIEW));
+
+        verify(metrics, never()).onSpan(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void shouldClearTheMetricsInUse() throws Exception {
+        LockTrace.clearMetrics(metrics);
+        LockTrace.report(LockSpan.FETCH_APPLICATION, LockTrace.now());
+
+        verify(metrics, never()).onSpan(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void shouldNotClearMetricsThatAreNoLongerInUse() throws Exception {
+        LockTrace.clearMetrics(mock(LockMetrics.class));
+        LockTrace.report(LockSpan.FETCH_APPLICATION, LockTrace.now());
+
+        verify(metrics).onSpan(eq(LockSpan.FETCH_APPLICATION), anyLong(), anyLong());
+    }
+
+    @Test
+    public void shouldReportTheRequestRoundTripOnSuccess() throws Exception {
+        //noinspection unchecked
+        final AuthenticationCallback<String> callback = mock(AuthenticationCallback.class);
+        LockTrace.traceRequest(callback).onSuccess("payload");
+
+        verify(metrics).onSpan(eq(LockSpan.AUTHENTICATION_REQUEST), anyLong(), anyLong());
+        verify(callback).onSuccess("payload");
+    }
+
+    @Test
+    public void shouldReportTheRequestRoundTripOnFailure() throws Exception {
+        //noinspection unchecked
+        final AuthenticationCallback<String> callback = mock(AuthenticationCallback.class);
+        final AuthenticationException error = mock(AuthenticationException.class);
+        LockTrace.traceRequest(callback).onFailure(error);
+
+        verify(metrics).onSpan(eq(LockSpan.AUTHENTICATION_REQUEST), anyLong(), anyLong());
+        verify(callback).onFailure(error);
+    }
+}
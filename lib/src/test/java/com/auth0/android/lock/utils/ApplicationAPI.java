@@ -33,6 +33,8 @@ import okhttp3.mockwebserver.RecordedRequest;
 
 public class ApplicationAPI {
 
+    public static final String VALID_JSONP = "Auth0.setClient({\"id\":\"CLIENTID\",\"tenant\":\"overmind\",\"subscription\":\"free\",\"authorize\":\"https://samples.auth0.com/authorize\",\"callback\":\"http://localhost:3000/\",\"hasAllowedOrigins\":true,\"strategies\":[{\"name\":\"twitter\",\"connections\":[{\"name\":\"twitter\"}]}]});";
+
     private MockWebServer server;
 
     public ApplicationAPI() throws IOException {
@@ -48,12 +50,31 @@ public class ApplicationAPI {
         this.server.shutdown();
     }
 
+    public int getRequestCount() {
+        return server.getRequestCount();
+    }
+
     public RecordedRequest takeRequest() throws InterruptedException {
         return server.takeRequest();
     }
 
     public ApplicationAPI willReturnValidJSONPResponse() {
-        return willReturnApplicationResponseWithBody("Auth0.setClient({\"id\":\"CLIENTID\",\"tenant\":\"overmind\",\"subscription\":\"free\",\"authorize\":\"https://samples.auth0.com/authorize\",\"callback\":\"http://localhost:3000/\",\"hasAllowedOrigins\":true,\"strategies\":[{\"name\":\"twitter\",\"connections\":[{\"name\":\"twitter\"}]}]});", 200);
+        return willReturnApplicationResponseWithBody(VALID_JSONP, 200);
+    }
+
+    public ApplicationAPI willReturnValidJSONPResponseWithETag(String eTag) {
+        MockResponse response = new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/x-javascript")
+                .addHeader("ETag", eTag)
+                .setBody(VALID_JSONP);
+        server.enqueue(response);
+        return this;
+    }
+
+    public ApplicationAPI willReturnNotModifiedResponse() {
+        server.enqueue(new MockResponse().setResponseCode(304));
+        return this;
     }
 
     public ApplicationAPI willReturnInvalidJSONPLengthResponse() {
@@ -61,6 +82,10 @@ public class ApplicationAPI {
         return this;
     }
 
+    public ApplicationAPI willReturnUnknownJSONPPrefixResponse() {
+        return willReturnApplicationResponseWithBody(VALID_JSONP.replace("Auth0.setClient(", "Auth0.setOther("), 200);
+    }
+
     private ApplicationAPI willReturnApplicationResponseWithBody(String body, int statusCode) {
         MockResponse response = new MockResponse()
                 .setResponseCode(statusCode)
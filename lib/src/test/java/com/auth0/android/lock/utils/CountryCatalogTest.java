@@ -0,0 +1,103 @@
+/*
+ * CountryCatalogTest.java
+ *
+ * Copyright (c) 2016 Auth0 (http://auth0.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.auth0.android.lock.utils;
+
+import com.auth0.android.lock.adapters.Country;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CountryCatalogTest {
+
+    private CountryCatalog catalog;
+
+    @Before
+    public void setUp() throws Exception {
+        catalog = new CountryCatalog(new String[]{"AR", "GB", "US"}, new String[]{"+54", "+44", "+1"});
+    }
+
+    @Test
+    public void shouldKeepTheTableOrder() throws Exception {
+        final List<Country> countries = catalog.getCountries();
+
+        assertThat(countries, hasSize(3));
+        assertThat(countries.get(0).getIsoCode(), is("AR"));
+        assertThat(countries.get(1).getIsoCode(), is("GB"));
+        assertThat(countries.get(2).getIsoCode(), is("US"));
+    }
+
+    @Test
+    public void shouldHaveTheGeneratedTableSortedByIsoCode() throws Exception {
+        assertThat(CountryTable.ISO_CODES.length, is(CountryTable.DIAL_CODES.length));
+        for (int i = 1; i < CountryTable.ISO_CODES.length; i++) {
+            assertThat(CountryTable.ISO_CODES[i - 1].compareTo(CountryTable.ISO_CODES[i]) < 0, is(true));
+        }
+    }
+
+    @Test
+    public void shouldLoadTheSharedCatalogFromTheGeneratedTable() throws Exception {
+        final CountryCatalog shared = CountryCatalog.getInstance();
+
+        assertThat(shared, is(CountryCatalog.getInstance()));
+        assertThat(shared.getCountries(), hasSize(CountryTable.ISO_CODES.length));
+        assertThat(shared.findByIsoCode("AR").getDialCode(), is("+54"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowToModifyTheCountries() throws Exception {
+        catalog.getCountries().clear();
+    }
+
+    @Test
+    public void shouldFindCountryByIsoCode() throws Exception {
+        final Country country = catalog.findByIsoCode("GB");
+
+        assertThat(country, is(notNullValue()));
+        assertThat(country.getDialCode(), is("+44"));
+    }
+
+    @Test
+    public void shouldFindCountryByIsoCodeIgnoringCase() throws Exception {
+        final Country country = catalog.findByIsoCode("ar");
+
+        assertThat(country, is(notNullValue()));
+        assertThat(country.getDialCode(), is("+54"));
+    }
+
+    @Test
+    public void shouldNotFindMissingCountry() throws Exception {
+        assertThat(catalog.findByIsoCode("UY"), is(nullValue()));
+        assertThat(catalog.findByIsoCode(""), is(nullValue()));
+        assertThat(catalog.findByIsoCode(null), is(nullValue()));
+    }
+}
@@ -0,0 +1,101 @@
+package com.auth0.android.lock.views;
+
+import android.text.SpannableStringBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = com.auth0.android.lock.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class InputValidatorTest {
+
+    private InputValidator validator;
+
+    @Before
+    public void setUp() throws Exception {
+        validator = new InputValidator();
+    }
+
+    @Test
+    public void shouldTrimLikeString() throws Exception {
+        final String text = " \t john@doe.com \n";
+        final int start = InputValidator.trimmedStart(text);
+        final int end = InputValidator.trimmedEnd(text, start);
+
+        assertThat(text.substring(start, end), is(text.trim()));
+    }
+
+    @Test
+    public void shouldTrimBlankText() throws Exception {
+        final String text = "   ";
+        final int start = InputValidator.trimmedStart(text);
+
+        assertThat(start, is(3));
+        assertThat(InputValidator.trimmedEnd(text, start), is(3));
+    }
+
+    @Test
+    public void shouldValidateOnlyTheGivenRegion() throws Exception {
+        final SpannableStringBuilder text = new SpannableStringBuilder("  john@doe.com  ");
+
+        assertThat(validator.isEmail(text, 2, 14), is(true));
+        assertThat(validator.isEmail(text, 0, text.length()), is(false));
+    }
+
+    @Test
+    public void shouldValidateEmail() throws Exception {
+        assertThat(isEmail("john@doe.com"), is(true));
+        assertThat(isEmail("john"), is(false));
+        assertThat(isEmail("john@"), is(false));
+    }
+
+    @Test
+    public void shouldValidateUsername() throws Exception {
+        assertThat(isUsername("john_doe1"), is(true));
+        assertThat(isUsername("john doe"), is(false));
+        assertThat(isUsername("john@doe.com"), is(false));
+    }
+
+    @Test
+    public void shouldValidatePhoneNumber() throws Exception {
+        assertThat(isPhoneNumber("123456"), is(true));
+        assertThat(isPhoneNumber("12345"), is(false));
+        assertThat(isPhoneNumber("12345a"), is(false));
+    }
+
+    @Test
+    public void shouldValidateCode() throws Exception {
+        assertThat(isCode("1234"), is(true));
+        assertThat(isCode("123"), is(false));
+        assertThat(isCode("1234567890123"), is(false));
+    }
+
+    @Test
+    public void shouldReuseTheMatchers() throws Exception {
+        assertThat(isEmail("john"), is(false));
+        assertThat(isEmail("john@doe.com"), is(true));
+        assertThat(isEmail("john"), is(false));
+    }
+
+    private boolean isEmail(String text) {
+        return validator.isEmail(new SpannableStringBuilder(text), 0, text.length());
+    }
+
+    private boolean isUsername(String text) {
+        return validator.isUsername(new SpannableStringBuilder(text), 0, text.length());
+    }
+
+    private boolean isPhoneNumber(String text) {
+        return validator.isPhoneNumber(new SpannableStringBuilder(text), 0, text.length());
+    }
+
+    private boolean isCode(String text) {
+        return validator.isCode(new SpannableStringBuilder(text), 0, text.length());
+    }
+}
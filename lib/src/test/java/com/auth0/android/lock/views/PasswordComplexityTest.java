@@ -0,0 +1,112 @@
+package com.auth0.android.lock.views;
+
+import com.auth0.android.lock.internal.configuration.PasswordStrength;
+
+import org.junit.Test;
+
+import static com.auth0.android.lock.views.PasswordComplexity.IDENTICAL;
+import static com.auth0.android.lock.views.PasswordComplexity.LOWERCASE;
+import static com.auth0.android.lock.views.PasswordComplexity.NUMERIC;
+import static com.auth0.android.lock.views.PasswordComplexity.SPECIAL;
+import static com.auth0.android.lock.views.PasswordComplexity.UPPERCASE;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class PasswordComplexityTest {
+
+    @Test
+    public void shouldClassifyEmptyPassword() throws Exception {
+        assertThat(PasswordComplexity.classify(""), is(0));
+        assertThat(PasswordComplexity.classify(null), is(0));
+    }
+
+    @Test
+    public void shouldClassifyCharacterClasses() throws Exception {
+        assertThat(PasswordComplexity.classify("abc"), is(LOWERCASE));
+        assertThat(PasswordComplexity.classify("ABC"), is(UPPERCASE));
+        assertThat(PasswordComplexity.classify("123"), is(NUMERIC));
+        assertThat(PasswordComplexity.classify(" !\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~"), is(SPECIAL));
+        assertThat(PasswordComplexity.classify("aB1$"), is(LOWERCASE | UPPERCASE | NUMERIC | SPECIAL));
+    }
+
+    @Test
+    public void shouldNotClassifyNonAsciiCharactersAsSpecial() throws Exception {
+        assertThat(PasswordComplexity.classify("\u00f1\u00e9"), is(0));
+    }
+
+    @Test
+    public void shouldFindIdenticalCharacters() throws Exception {
+        assertThat(PasswordComplexity.classify("aaa") & IDENTICAL, is(IDENTICAL));
+        assertThat(PasswordComplexity.classify("1abbb2") & IDENTICAL, is(IDENTICAL));
+        assertThat(PasswordComplexity.classify("aabbaa") & IDENTICAL, is(0));
+        assertThat(PasswordComplexity.classify("aAa") & IDENTICAL, is(0));
+    }
+
+    @Test
+    public void shouldHaveMinimumLengthPerStrength() throws Exception {
+        assertThat(new PasswordComplexity(PasswordStrength.NONE).getMinimumLength(), is(1));
+        assertThat(new PasswordComplexity(PasswordStrength.LOW).getMinimumLength(), is(6));
+        assertThat(new PasswordComplexity(PasswordStrength.FAIR).getMinimumLength(), is(8));
+        assertThat(new PasswordComplexity(PasswordStrength.GOOD).getMinimumLength(), is(8));
+        assertThat(new PasswordComplexity(PasswordStrength.EXCELLENT).getMinimumLength(), is(10));
+    }
+
+    @Test
+    public void shouldValidateLength() throws Exception {
+        final PasswordComplexity complexity = new PasswordComplexity(PasswordStrength.LOW);
+
+        assertFalse(complexity.hasValidLength(5));
+        assertTrue(complexity.hasValidLength(6));
+        assertTrue(complexity.hasValidLength(PasswordComplexity.MAX_LENGTH));
+        assertFalse(complexity.hasValidLength(PasswordComplexity.MAX_LENGTH + 1));
+    }
+
+    @Test
+    public void shouldValidateNone() throws Exception {
+        final PasswordComplexity complexity = new PasswordComplexity(PasswordStrength.NONE);
+
+        assertTrue(complexity.isValid("1"));
+        assertFalse(complexity.isValid(""));
+        assertFalse(complexity.isValid(null));
+    }
+
+    @Test
+    public void shouldValidateFair() throws Exception {
+        final PasswordComplexity complexity = new PasswordComplexity(PasswordStrength.FAIR);
+
+        assertTrue(complexity.isValid("aB1aB1aB"));
+        assertFalse(complexity.isValid("ab1ab1ab"));
+        assertFalse(complexity.isValid("aB$aB$aB"));
+        assertFalse(complexity.isValid("aB1"));
+    }
+
+    @Test
+    public void shouldValidateGood() throws Exception {
+        final PasswordComplexity complexity = new PasswordComplexity(PasswordStrength.GOOD);
+
+        assertTrue(complexity.isValid("ab1$ab1$"));
+        assertTrue(complexity.isValid("AB1$AB1$"));
+        assertTrue(complexity.isValid("aB$aB$aB"));
+        assertFalse(complexity.isValid("ab12ab12"));
+    }
+
+    @Test
+    public void shouldValidateExcellent() throws Exception {
+        final PasswordComplexity complexity = new PasswordComplexity(PasswordStrength.EXCELLENT);
+
+        assertTrue(complexity.isValid("a!B1@CA2$bc"));
+        assertFalse(complexity.isValid("a!B1@CA2$bccc"));
+        assertFalse(complexity.isValid("a!B1@CA2$"));
+    }
+
+    @Test
+    public void shouldValidateCharacteristics() throws Exception {
+        final PasswordComplexity complexity = new PasswordComplexity(PasswordStrength.GOOD);
+
+        assertTrue(complexity.isValid(LOWERCASE | UPPERCASE | NUMERIC, 8));
+        assertFalse(complexity.isValid(LOWERCASE | UPPERCASE | NUMERIC, 7));
+        assertFalse(complexity.isValid(LOWERCASE | UPPERCASE | IDENTICAL, 8));
+    }
+}
@@ -1,6 +0,0 @@
-# Otto
-
--keepattributes *Annotation*
--keepclassmembers class ** {
-    @com.squareup.otto.Subscribe public *;
-}
\ No newline at end of file